@@ -0,0 +1,77 @@
+package com.trophic.behavior.ai;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pack membership churn: members leaving and rejoining their packs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackCoordinatorBenchmark {
+    private static final int PACK_SIZE = 8;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int population;
+
+    private PackStore store;
+    private UUID[] animals;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        store = new PackStore();
+        animals = new UUID[population];
+        for (int i = 0; i < population; i++) {
+            animals[i] = new UUID(0, i);
+            if (i % PACK_SIZE == 0) {
+                store.makeSolo(animals[i]);
+            } else {
+                store.joinPack(animals[i], leaderOf(i));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (UUID animal : animals) {
+            store.leave(animal);
+        }
+    }
+
+    private UUID leaderOf(int index) {
+        return animals[index - index % PACK_SIZE];
+    }
+
+    @Benchmark
+    public UUID leaveAndRejoin() {
+        // Leaders stay put so pack structure is stable between invocations
+        int index;
+        do {
+            index = cursor;
+            cursor = (cursor + 1) % population;
+        } while (index % PACK_SIZE == 0 && population > 1);
+
+        UUID animal = animals[index];
+        store.leave(animal);
+        store.joinPack(animal, leaderOf(index));
+        return animal;
+    }
+}
@@ -0,0 +1,68 @@
+package com.trophic.behavior.ai;
+
+import com.trophic.registry.SpeciesDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Best-target selection over a synthetic set of prey candidates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreyScannerBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int population;
+
+    private double[] distances;
+    private SpeciesDefinition.PreyInfo[] preyInfos;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        SpeciesDefinition.PreyInfo[] kinds = {
+                new SpeciesDefinition.PreyInfo(0.9, 80),
+                new SpeciesDefinition.PreyInfo(0.5, 50),
+                new SpeciesDefinition.PreyInfo(0.2, 30),
+                null
+        };
+
+        distances = new double[population];
+        preyInfos = new SpeciesDefinition.PreyInfo[population];
+        for (int i = 0; i < population; i++) {
+            double distance = random.nextDouble() * 32.0;
+            distances[i] = distance * distance;
+            preyInfos[i] = kinds[random.nextInt(kinds.length)];
+        }
+    }
+
+    @Benchmark
+    public int selectBestPrey() {
+        int best = -1;
+        double bestScore = Double.MAX_VALUE;
+        for (int i = 0; i < population; i++) {
+            double score = PreyScanner.scorePreyTarget(distances[i], preyInfos[i]);
+            if (score < bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
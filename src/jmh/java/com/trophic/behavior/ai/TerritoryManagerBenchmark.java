@@ -0,0 +1,139 @@
+package com.trophic.behavior.ai;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Territory claims, releases, point lookups and nearest-boundary queries at
+ * constant territory density.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TerritoryManagerBenchmark {
+    private static final int QUERIES = 1024;
+    private static final Identifier SPECIES = Identifier.of("minecraft", "wolf");
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int population;
+
+    // Largest claim radius; 64 covers 81 chunks per claim
+    @Param({"48", "64"})
+    public int maxRadius;
+
+    private TerritoryStore store;
+    private TerritoryManager.Territory[] territories;
+    private final TerritoryManager.Territory[] nearest = new TerritoryManager.Territory[4];
+    private BlockPos[] queries;
+    private int span;
+    private int cursor;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(42);
+        // One territory per 48x48 block cell on average
+        span = (int) Math.sqrt(population) * 48;
+
+        store = new TerritoryStore();
+        territories = new TerritoryManager.Territory[population];
+        for (int i = 0; i < population; i++) {
+            territories[i] = randomTerritory(new UUID(0, i));
+            store.put(territories[i]);
+        }
+
+        queries = new BlockPos[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = new BlockPos(random.nextInt(span), 64, random.nextInt(span));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (TerritoryManager.Territory territory : territories) {
+            store.release(territory.ownerId());
+        }
+    }
+
+    private TerritoryManager.Territory randomTerritory(UUID owner) {
+        BlockPos center = new BlockPos(random.nextInt(span), 64, random.nextInt(span));
+        return new TerritoryManager.Territory(owner, SPECIES, center, 16 + random.nextInt(maxRadius - 15), 0L);
+    }
+
+    @Benchmark
+    public int findTerritoryAt() {
+        int found = 0;
+        for (BlockPos query : queries) {
+            Optional<TerritoryManager.Territory> territory = store.findAt(query);
+            if (territory.isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int findOwner() {
+        int found = 0;
+        for (BlockPos query : queries) {
+            if (store.findOwner(query, SPECIES).isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public double distanceToBoundary() {
+        double total = 0;
+        for (BlockPos query : queries) {
+            double distance = store.distanceToBoundary(query, null);
+            if (distance != Double.MAX_VALUE) {
+                total += distance;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int findNearestBoundaries() {
+        int found = 0;
+        for (BlockPos query : queries) {
+            found += store.findNearestBoundaries(query, null, SPECIES, 128, nearest);
+        }
+        return found;
+    }
+
+    @Benchmark
+    public TerritoryManager.Territory claimRelease() {
+        int index = cursor;
+        cursor = (cursor + 1) % population;
+
+        // Move one territory: release the old claim and claim a new spot
+        TerritoryManager.Territory moved = randomTerritory(territories[index].ownerId());
+        store.release(moved.ownerId());
+        store.put(moved);
+        territories[index] = moved;
+        return moved;
+    }
+}
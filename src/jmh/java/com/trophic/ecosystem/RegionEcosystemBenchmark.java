@@ -0,0 +1,111 @@
+package com.trophic.ecosystem;
+
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Region updates and event recording, with one region per 100 animals.
+ * Regions are created without a world, so only world-independent methods
+ * are exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegionEcosystemBenchmark {
+    private static final int SPECIES = 16;
+    private static final int EVENTS = 1024;
+    private static final Identifier PREDATOR = Identifier.of("minecraft", "wolf");
+    private static final Identifier PREY = Identifier.of("minecraft", "sheep");
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int population;
+
+    private RegionEcosystem[] regions;
+    private int[] animalRegion;
+    private int[] animalSpecies;
+    private int[] eventRegion;
+    private long currentTick;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        int regionCount = Math.max(1, population / 100);
+
+        regions = new RegionEcosystem[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            regions[i] = new RegionEcosystem(null, i % 64, i / 64, 0L);
+        }
+
+        animalRegion = new int[population];
+        animalSpecies = new int[population];
+        for (int i = 0; i < population; i++) {
+            animalRegion[i] = random.nextInt(regionCount);
+            animalSpecies[i] = random.nextInt(SPECIES);
+            regions[animalRegion[i]].addToPopulation(animalSpecies[i]);
+        }
+
+        eventRegion = new int[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            eventRegion[i] = random.nextInt(regionCount);
+        }
+    }
+
+    @Benchmark
+    public double updateAll() {
+        currentTick += 100;
+        double sum = 0;
+        for (RegionEcosystem region : regions) {
+            region.update(currentTick);
+            sum += region.getCarryingCapacityModifier();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void recordEvents() {
+        for (int i = 0; i < EVENTS; i++) {
+            RegionEcosystem region = regions[eventRegion[i]];
+            if ((i & 1) == 0) {
+                region.recordGrazing(PREY);
+            } else {
+                region.recordKill(PREDATOR, PREY);
+            }
+        }
+    }
+
+    @Benchmark
+    public int moveAnimals() {
+        // Move a batch of animals to another region and back
+        int total = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            int animal = cursor;
+            cursor = (cursor + 1) % population;
+
+            RegionEcosystem from = regions[animalRegion[animal]];
+            RegionEcosystem to = regions[eventRegion[i]];
+            from.removeFromPopulation(animalSpecies[animal]);
+            to.addToPopulation(animalSpecies[animal]);
+            to.removeFromPopulation(animalSpecies[animal]);
+            from.addToPopulation(animalSpecies[animal]);
+            total += to.getTotalPopulation();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,109 @@
+package com.trophic.registry;
+
+import net.minecraft.util.Identifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Habitat suitability and diet lookups over a synthetic population.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpeciesDefinitionBenchmark {
+    private static final int BIOMES = 32;
+    private static final int SPECIES = 32;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int population;
+
+    private SpeciesDefinition.Habitat habitat;
+    private SpeciesDefinition.Diet diet;
+    private Identifier[] biomes;
+    private double[] temperatures;
+    private Identifier[] targets;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        Identifier[] biomeIds = new Identifier[BIOMES];
+        for (int i = 0; i < BIOMES; i++) {
+            biomeIds[i] = Identifier.of("minecraft", "biome_" + i);
+        }
+        habitat = new SpeciesDefinition.Habitat(
+                new ArrayList<>(List.of(biomeIds).subList(0, 8)),
+                -5.0, 25.0,
+                new ArrayList<>(List.of(biomeIds).subList(28, 32)));
+
+        Identifier[] speciesIds = new Identifier[SPECIES];
+        for (int i = 0; i < SPECIES; i++) {
+            speciesIds[i] = Identifier.of("minecraft", "species_" + i);
+        }
+        Map<Identifier, SpeciesDefinition.PreyInfo> prey = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            prey.put(speciesIds[i * 5], new SpeciesDefinition.PreyInfo(0.2 + i * 0.1, 40 + i * 10));
+        }
+        diet = new SpeciesDefinition.Diet(DietType.CARNIVORE, prey, 6000);
+
+        biomes = new Identifier[population];
+        temperatures = new double[population];
+        targets = new Identifier[population];
+        for (int i = 0; i < population; i++) {
+            biomes[i] = biomeIds[random.nextInt(BIOMES)];
+            temperatures[i] = -30.0 + random.nextDouble() * 80.0;
+            targets[i] = speciesIds[random.nextInt(SPECIES)];
+        }
+    }
+
+    @Benchmark
+    public double habitatSuitability() {
+        double sum = 0;
+        for (int i = 0; i < population; i++) {
+            sum += habitat.calculateSuitability(biomes[i], temperatures[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int dietCanHunt() {
+        int count = 0;
+        for (int i = 0; i < population; i++) {
+            if (diet.canHunt(targets[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public double dietPreyInfo() {
+        double sum = 0;
+        for (int i = 0; i < population; i++) {
+            SpeciesDefinition.PreyInfo info = diet.getPreyInfo(targets[i]).orElse(null);
+            if (info != null) {
+                sum += info.preference();
+            }
+        }
+        return sum;
+    }
+}
@@ -1,13 +1,24 @@
 package com.trophic;
 
+import com.trophic.behavior.ai.PackClusterer;
+import com.trophic.behavior.ai.SocialStoreManager;
 import com.trophic.command.TrophicCommands;
 import com.trophic.config.TrophicConfig;
 import com.trophic.ecosystem.EcosystemManager;
+import com.trophic.pathing.ChunkGraphManager;
+import com.trophic.pathing.PathScheduler;
 import com.trophic.population.PopulationTracker;
+import com.trophic.profiling.TrophicProfiler;
 import com.trophic.population.SpawnController;
 import com.trophic.registry.SpeciesRegistry;
+import com.trophic.scheduling.TimingWheelManager;
+import com.trophic.scheduling.TrophicScheduler;
 import com.trophic.simulation.FoodChainSimulator;
+import com.trophic.simulation.MigrationDispatcher;
 import com.trophic.simulation.SeasonManager;
+import com.trophic.spatial.FoodMapManager;
+import com.trophic.spatial.SpatialIndexManager;
+import com.trophic.spatial.ThreatMapManager;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
@@ -33,6 +44,17 @@ public class Trophic implements ModInitializer {
     private SeasonManager seasonManager;
     private SpawnController spawnController;
     private FoodChainSimulator foodChainSimulator;
+    private MigrationDispatcher migrationDispatcher;
+    private SpatialIndexManager spatialIndexManager;
+    private ThreatMapManager threatMapManager;
+    private FoodMapManager foodMapManager;
+    private SocialStoreManager socialStoreManager;
+    private PackClusterer packClusterer;
+    private PathScheduler pathScheduler;
+    private ChunkGraphManager chunkGraphManager;
+    private TrophicScheduler scheduler;
+    private TimingWheelManager timingWheelManager;
+    private TrophicProfiler profiler;
 
     @Override
     public void onInitialize() {
@@ -44,12 +66,23 @@ public class Trophic implements ModInitializer {
         LOGGER.info("Loaded Trophic configuration");
 
         // Initialize core systems
+        profiler = new TrophicProfiler();
+        scheduler = new TrophicScheduler(profiler);
+        timingWheelManager = new TimingWheelManager();
         speciesRegistry = new SpeciesRegistry();
-        ecosystemManager = new EcosystemManager();
-        populationTracker = new PopulationTracker();
+        ecosystemManager = new EcosystemManager(scheduler);
+        populationTracker = new PopulationTracker(scheduler);
         seasonManager = new SeasonManager();
-        foodChainSimulator = new FoodChainSimulator();
+        foodChainSimulator = new FoodChainSimulator(scheduler);
+        migrationDispatcher = new MigrationDispatcher(scheduler);
         spawnController = new SpawnController(populationTracker, speciesRegistry);
+        spatialIndexManager = new SpatialIndexManager(speciesRegistry);
+        threatMapManager = new ThreatMapManager(speciesRegistry);
+        foodMapManager = new FoodMapManager();
+        socialStoreManager = new SocialStoreManager();
+        packClusterer = new PackClusterer(scheduler, speciesRegistry);
+        pathScheduler = new PathScheduler();
+        chunkGraphManager = new ChunkGraphManager();
 
         // Load species definitions from datapacks
         speciesRegistry.loadDefaultSpecies();
@@ -79,15 +112,55 @@ public class Trophic implements ModInitializer {
         });
 
         // Server tick events for simulation
+        TrophicProfiler.Section seasonSection = profiler.section("SeasonManager.tick");
+        TrophicProfiler.Section populationSection = profiler.section("PopulationTracker.tick");
         ServerTickEvents.END_SERVER_TICK.register(server -> {
+            long start = profiler.begin();
             seasonManager.tick(server);
-            ecosystemManager.tick(server);
+            profiler.end(seasonSection, null, start);
+            
+            start = profiler.begin();
             populationTracker.tick(server);
-            foodChainSimulator.tick(server);
+            profiler.end(populationSection, null, start);
         });
+        
+        // Register the sampling profiler behind /trophic profile
+        profiler.register();
+        
+        // Register the staggered scheduler for periodic simulation work
+        scheduler.register();
+        
+        // Register the per-world timing wheels for ecological deadlines
+        timingWheelManager.register();
+        
+        ecosystemManager.register();
+        populationTracker.register();
+        foodChainSimulator.register();
+        migrationDispatcher.register();
 
         // Register spawn control
         spawnController.register();
+        
+        // Register the shared per-world entity index used by AI scans
+        spatialIndexManager.register();
+        
+        // Register the predator threat map, stamped right after the index rebuild
+        threatMapManager.register();
+        
+        // Register the per-chunk edible block index used by foragers
+        foodMapManager.register();
+        
+        // Register the per-world pack and territory stores
+        socialStoreManager.register();
+        
+        // Register the staggered pack clustering pass
+        packClusterer.register();
+        
+        // Register the budgeted pathfinding queue
+        pathScheduler.register();
+        
+        // Register the coarse per-chunk graph used for long-range routes
+        chunkGraphManager.register();
     }
 
     public static Trophic getInstance() {
@@ -117,4 +190,48 @@ public class Trophic implements ModInitializer {
     public FoodChainSimulator getFoodChainSimulator() {
         return foodChainSimulator;
     }
+
+    public MigrationDispatcher getMigrationDispatcher() {
+        return migrationDispatcher;
+    }
+
+    public SpatialIndexManager getSpatialIndexManager() {
+        return spatialIndexManager;
+    }
+
+    public ThreatMapManager getThreatMapManager() {
+        return threatMapManager;
+    }
+
+    public FoodMapManager getFoodMapManager() {
+        return foodMapManager;
+    }
+
+    public SocialStoreManager getSocialStoreManager() {
+        return socialStoreManager;
+    }
+
+    public PackClusterer getPackClusterer() {
+        return packClusterer;
+    }
+
+    public PathScheduler getPathScheduler() {
+        return pathScheduler;
+    }
+
+    public ChunkGraphManager getChunkGraphManager() {
+        return chunkGraphManager;
+    }
+
+    public TrophicScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public TimingWheelManager getTimingWheelManager() {
+        return timingWheelManager;
+    }
+
+    public TrophicProfiler getProfiler() {
+        return profiler;
+    }
 }
@@ -1,7 +1,11 @@
 package com.trophic.behavior;
 
+import com.trophic.behavior.ai.TerritoryManager;
+import com.trophic.registry.ResolvedSpecies;
 import net.minecraft.util.math.BlockPos;
 
+import java.util.UUID;
+
 /**
  * Interface for entities that participate in the ecological simulation.
  * Implemented by AnimalEntity via mixin.
@@ -19,6 +23,19 @@ public interface EcologicalEntity {
      */
     void trophic_setHunger(double hunger);
     
+    /**
+     * Gets the ticks until hunger decays to a level.
+     * @return 0 if it is already at or below the level, or
+     *         {@code Long.MAX_VALUE} if it does not decay
+     */
+    long trophic_getTicksUntilHunger(double level);
+    
+    /**
+     * Gets a counter bumped whenever hunger is set rather than decaying
+     * (feeding, commands, loading). Idle goals use it to wake early.
+     */
+    int trophic_getHungerVersion();
+    
     /**
      * Feeds the entity, restoring hunger based on nutritional value.
      * @param nutritionalValue the nutritional value of the food
@@ -72,4 +89,48 @@ public interface EcologicalEntity {
      * Default is typically 48-64 blocks.
      */
     double trophic_getHomeRange();
+    
+    /**
+     * Gets the entity's resolved species, cached until the registry changes.
+     * @return the species, or null if the entity type is not registered
+     */
+    ResolvedSpecies trophic_getSpecies();
+    
+    /**
+     * Gets the region key this entity is counted in by the population tracker.
+     * @return the region key, or {@code PopulationTracker.UNTRACKED}
+     */
+    long trophic_getTrackedRegion();
+    
+    /**
+     * Sets the region key this entity is counted in.
+     */
+    void trophic_setTrackedRegion(long regionKey);
+    
+    /**
+     * Copies the entity's pack and territory from the world's stores into
+     * the state saved with it. Called on save and before the stores drop an
+     * unloading entity.
+     */
+    void trophic_captureSocialState();
+    
+    /**
+     * Restores the saved pack and territory into the world's stores. State
+     * saved in a different world is discarded instead.
+     */
+    void trophic_restoreSocialState();
+    
+    /**
+     * Gets the pack leader saved with the entity, restored into the world's
+     * pack store when the entity loads.
+     * @return the leader's UUID, or null if none was saved
+     */
+    UUID trophic_getSavedPackLeader();
+    
+    /**
+     * Gets the territory claim saved with the entity, restored into the
+     * world's territory store when the entity loads.
+     * @return the claim, or null if none was saved
+     */
+    TerritoryManager.Territory trophic_getSavedTerritory();
 }
@@ -0,0 +1,333 @@
+package com.trophic.behavior.ai;
+
+import com.trophic.Trophic;
+import com.trophic.config.TrophicConfig;
+import com.trophic.ecosystem.EcosystemManager;
+import com.trophic.registry.ResolvedSpecies;
+import com.trophic.registry.SpeciesDefinition;
+import com.trophic.registry.SpeciesRegistry;
+import com.trophic.scheduling.TrophicScheduler;
+import com.trophic.simulation.MigrationPlanner;
+import com.trophic.spatial.SpatialIndex;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.passive.AnimalEntity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Forms and rebalances packs in periodic batches.
+ *
+ * Every {@code clusterInterval} ticks each ecosystem region of every world is
+ * visited once, spread over {@code clusterSlices} scheduler runs by a hash of
+ * the region key. Within a region, the animals of each social species are
+ * clustered with grid-accelerated DBSCAN: the neighbourhood radius is the
+ * species' territory radius and the minimum cluster size its minimum pack
+ * size. Clusters above the maximum pack size are cut into balanced packs
+ * along their expansion order, which keeps each pack compact. The result is
+ * written to the world's {@link PackStore} in one batch; goals only read it.
+ *
+ * Animals in a migrating pack are left out so the migration keeps its
+ * followers.
+ */
+public class PackClusterer {
+    private final TrophicScheduler scheduler;
+    private final SpeciesRegistry speciesRegistry;
+
+    private int slice;
+    private long passes;
+    private int lastPassAnimals;
+    private int lastPassPacks;
+
+    /**
+     * Social animals of one species in one region.
+     */
+    private record GroupKey(long regionKey, int speciesIndex) {}
+
+    public PackClusterer(TrophicScheduler scheduler, SpeciesRegistry speciesRegistry) {
+        this.scheduler = scheduler;
+        this.speciesRegistry = speciesRegistry;
+    }
+
+    /**
+     * Schedules the clustering slices.
+     */
+    public void register() {
+        TrophicConfig.PackConfig config = TrophicConfig.get().pack;
+        int slices = Math.max(1, config.clusterSlices);
+        scheduler.schedule("PackClusterer.cluster", Math.max(1, config.clusterInterval / slices), this::runSlice);
+
+        Trophic.LOGGER.info("PackClusterer registered");
+    }
+
+    private void runSlice(MinecraftServer server) {
+        int slices = Math.max(1, TrophicConfig.get().pack.clusterSlices);
+        int current = slice % slices;
+        slice = (current + 1) % slices;
+        if (current == 0) {
+            passes++;
+            lastPassAnimals = 0;
+            lastPassPacks = 0;
+        }
+
+        for (ServerWorld world : server.getWorlds()) {
+            clusterWorld(world, current, slices);
+        }
+    }
+
+    private void clusterWorld(ServerWorld world, int current, int slices) {
+        SpatialIndex index = Trophic.getInstance().getSpatialIndexManager().get(world);
+        PackStore store = Trophic.getInstance().getSocialStoreManager().getPackStore(world);
+
+        // Gather the social animals of this slice's regions, by region and species
+        Map<GroupKey, List<AnimalEntity>> groups = new HashMap<>();
+        index.forEachInChunks(
+                chunk -> Math.floorMod(HashCommon.mix(regionOf(chunk)), slices) == current,
+                groups,
+                (map, entity, distanceSq) -> {
+                    if (!(entity instanceof AnimalEntity animal)) {
+                        return true;
+                    }
+                    ResolvedSpecies species = speciesRegistry.resolve(animal);
+                    if (species == null || !isSocial(species.getDefinition())) {
+                        return true;
+                    }
+                    UUID leaderId = store.getLeader(animal.getUuid());
+                    if (leaderId != null && MigrationPlanner.getPackMigration(leaderId) != null) {
+                        return true;
+                    }
+
+                    GroupKey key = new GroupKey(
+                            EcosystemManager.getRegionKey(animal.getBlockX(), animal.getBlockZ()),
+                            species.getIndex());
+                    map.computeIfAbsent(key, k -> new ArrayList<>()).add(animal);
+                    return true;
+                });
+
+        for (Map.Entry<GroupKey, List<AnimalEntity>> group : groups.entrySet()) {
+            SpeciesDefinition.Social social = speciesRegistry
+                    .getSpecies(speciesRegistry.getSpeciesId(group.getKey().speciesIndex()))
+                    .map(SpeciesDefinition::getSocial)
+                    .orElse(null);
+            if (social != null) {
+                assignPacks(store, group.getValue(), social);
+            }
+        }
+    }
+
+    private static boolean isSocial(SpeciesDefinition species) {
+        return species != null && species.getSocial() != null && species.getSocial().isSocial();
+    }
+
+    private static long regionOf(long chunk) {
+        return EcosystemManager.getRegionKey(new ChunkPos(chunk));
+    }
+
+    /**
+     * Clusters one group and writes the packs to the store.
+     */
+    private void assignPacks(PackStore store, List<AnimalEntity> animals, SpeciesDefinition.Social social) {
+        int minSize = Math.max(1, social.minPackSize());
+        int maxSize = Math.max(minSize, social.maxPackSize());
+        double radius = social.territoryRadius() > 0
+                ? social.territoryRadius()
+                : TrophicConfig.get().pack.maxDistanceFromPack;
+
+        List<IntArrayList> clusters = cluster(animals, radius, minSize);
+        boolean[] clustered = new boolean[animals.size()];
+
+        for (IntArrayList cluster : clusters) {
+            int size = cluster.size();
+            int parts = (size + maxSize - 1) / maxSize;
+            for (int part = 0; part < parts; part++) {
+                int from = part * size / parts;
+                int to = (part + 1) * size / parts;
+                List<AnimalEntity> pack = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    int member = cluster.getInt(i);
+                    pack.add(animals.get(member));
+                    clustered[member] = true;
+                }
+                if (pack.size() >= minSize) {
+                    writePack(store, pack);
+                } else {
+                    for (AnimalEntity animal : pack) {
+                        writePack(store, List.of(animal));
+                    }
+                }
+            }
+        }
+
+        // Noise points live alone until a later pass finds them company
+        for (int i = 0; i < animals.size(); i++) {
+            if (!clustered[i]) {
+                writePack(store, List.of(animals.get(i)));
+            }
+        }
+
+        lastPassAnimals += animals.size();
+    }
+
+    /**
+     * Writes one pack, keeping the leader that already leads most of it so
+     * packs stay stable between passes.
+     */
+    private void writePack(PackStore store, List<AnimalEntity> pack) {
+        Map<UUID, Integer> currentLeaders = new HashMap<>();
+        List<UUID> memberIds = new ArrayList<>(pack.size());
+        for (AnimalEntity animal : pack) {
+            memberIds.add(animal.getUuid());
+            UUID leaderId = store.getLeader(animal.getUuid());
+            if (leaderId != null) {
+                currentLeaders.merge(leaderId, 1, Integer::sum);
+            }
+        }
+
+        UUID leaderId = memberIds.get(0);
+        int best = 0;
+        for (Map.Entry<UUID, Integer> entry : currentLeaders.entrySet()) {
+            if (entry.getValue() > best && memberIds.contains(entry.getKey())) {
+                leaderId = entry.getKey();
+                best = entry.getValue();
+            }
+        }
+
+        store.assign(leaderId, memberIds);
+        for (AnimalEntity animal : pack) {
+            store.attach(animal);
+        }
+        lastPassPacks++;
+    }
+
+    /**
+     * Grid-accelerated DBSCAN on horizontal positions.
+     *
+     * @return clusters as indices into {@code animals}, in expansion order
+     */
+    static List<IntArrayList> cluster(List<AnimalEntity> animals, double radius, int minPoints) {
+        int n = animals.size();
+        double[] xs = new double[n];
+        double[] zs = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = animals.get(i).getX();
+            zs[i] = animals.get(i).getZ();
+        }
+        return cluster(xs, zs, radius, minPoints);
+    }
+
+    /**
+     * @see #cluster(List, double, int)
+     */
+    static List<IntArrayList> cluster(double[] xs, double[] zs, double radius, int minPoints) {
+        int n = xs.length;
+        double radiusSq = radius * radius;
+
+        // Bucket points into cells one radius wide; neighbours are in the 3x3 block
+        Long2ObjectOpenHashMap<IntArrayList> grid = new Long2ObjectOpenHashMap<>();
+        for (int i = 0; i < n; i++) {
+            grid.computeIfAbsent(cellKey(xs[i], zs[i], radius), k -> new IntArrayList()).add(i);
+        }
+
+        // 0 = unvisited, -1 = noise, otherwise cluster id + 1
+        int[] labels = new int[n];
+        List<IntArrayList> clusters = new ArrayList<>();
+        IntArrayList neighbours = new IntArrayList();
+        IntArrayList frontier = new IntArrayList();
+
+        for (int i = 0; i < n; i++) {
+            if (labels[i] != 0) {
+                continue;
+            }
+            findNeighbours(i, xs, zs, radius, radiusSq, grid, neighbours);
+            if (neighbours.size() < minPoints) {
+                labels[i] = -1;
+                continue;
+            }
+
+            int label = clusters.size() + 1;
+            IntArrayList cluster = new IntArrayList();
+            clusters.add(cluster);
+            labels[i] = label;
+            cluster.add(i);
+
+            frontier.clear();
+            frontier.addAll(neighbours);
+            for (int head = 0; head < frontier.size(); head++) {
+                int j = frontier.getInt(head);
+                if (labels[j] == -1) {
+                    // Border point: joins the cluster but does not expand it
+                    labels[j] = label;
+                    cluster.add(j);
+                    continue;
+                }
+                if (labels[j] != 0) {
+                    continue;
+                }
+                labels[j] = label;
+                cluster.add(j);
+
+                findNeighbours(j, xs, zs, radius, radiusSq, grid, neighbours);
+                if (neighbours.size() >= minPoints) {
+                    frontier.addAll(neighbours);
+                }
+            }
+        }
+        return clusters;
+    }
+
+    private static void findNeighbours(int point, double[] xs, double[] zs, double radius, double radiusSq,
+                                       Long2ObjectOpenHashMap<IntArrayList> grid, IntArrayList out) {
+        out.clear();
+        int cx = (int) Math.floor(xs[point] / radius);
+        int cz = (int) Math.floor(zs[point] / radius);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                IntArrayList cell = grid.get(ChunkPos.toLong(cx + dx, cz + dz));
+                if (cell == null) {
+                    continue;
+                }
+                for (int k = 0; k < cell.size(); k++) {
+                    int other = cell.getInt(k);
+                    double ddx = xs[other] - xs[point];
+                    double ddz = zs[other] - zs[point];
+                    if (ddx * ddx + ddz * ddz <= radiusSq) {
+                        out.add(other);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long cellKey(double x, double z, double radius) {
+        return ChunkPos.toLong((int) Math.floor(x / radius), (int) Math.floor(z / radius));
+    }
+
+    /**
+     * @return the number of full clustering passes started since startup
+     */
+    public long getPasses() {
+        return passes;
+    }
+
+    /**
+     * @return the number of animals clustered so far in the current pass
+     */
+    public int getLastPassAnimals() {
+        return lastPassAnimals;
+    }
+
+    /**
+     * @return the number of packs written so far in the current pass
+     */
+    public int getLastPassPacks() {
+        return lastPassPacks;
+    }
+}
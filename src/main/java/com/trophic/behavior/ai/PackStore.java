@@ -0,0 +1,244 @@
+package com.trophic.behavior.ai;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.passive.AnimalEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pack membership for one world. Owned by {@link SocialStoreManager} and
+ * used through {@link PackCoordinator}.
+ *
+ * Server thread only.
+ */
+public class PackStore {
+
+    /**
+     * One pack: its members, weak references to their entities and a
+     * centroid refreshed at most once per tick.
+     */
+    public static final class Pack {
+        // Member UUIDs, with the last known entity (null until seen)
+        private final Map<UUID, WeakReference<AnimalEntity>> members = new HashMap<>();
+        private long centerTick = Long.MIN_VALUE;
+        private Vec3d center;
+        // Stamp from the store's counter, renewed whenever the pack changes
+        private int version;
+
+        private Pack() {
+        }
+
+        /**
+         * @return the member UUIDs, leader included
+         */
+        public Set<UUID> getMemberIds() {
+            return members.keySet();
+        }
+
+        public int size() {
+            return members.size();
+        }
+
+        /**
+         * Resolves a member to its entity through the cached reference,
+         * falling back to the world's UUID lookup when the reference is
+         * missing or stale.
+         *
+         * @return the member entity, or null if it is not loaded in this world
+         */
+        public AnimalEntity resolve(World world, UUID memberId) {
+            WeakReference<AnimalEntity> ref = members.get(memberId);
+            AnimalEntity cached = ref != null ? ref.get() : null;
+            if (cached != null && !cached.isRemoved()) {
+                return cached;
+            }
+
+            if (world instanceof ServerWorld serverWorld && members.containsKey(memberId)) {
+                Entity entity = serverWorld.getEntity(memberId);
+                if (entity instanceof AnimalEntity animal) {
+                    members.put(memberId, new WeakReference<>(animal));
+                    return animal;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Gets the mean position of the loaded members. Computed on the first
+         * call in a tick and reused by every other member that tick.
+         *
+         * @return the centroid, or null if no member is loaded
+         */
+        public Vec3d getCenter(World world) {
+            long tick = world.getTime();
+            if (tick == centerTick) {
+                return center;
+            }
+            centerTick = tick;
+
+            double x = 0, y = 0, z = 0;
+            int count = 0;
+            for (UUID memberId : members.keySet()) {
+                AnimalEntity member = resolve(world, memberId);
+                if (member != null) {
+                    x += member.getX();
+                    y += member.getY();
+                    z += member.getZ();
+                    count++;
+                }
+            }
+
+            center = count > 0 ? new Vec3d(x / count, y / count, z / count) : null;
+            return center;
+        }
+    }
+
+    // Pack leader of every member, leaders included
+    private final Map<UUID, UUID> entityToPackLeader = new HashMap<>();
+    private final Map<UUID, Pack> packs = new HashMap<>();
+    // Source of pack version stamps; never reused, so a new pack always differs
+    private int nextVersion;
+
+    /**
+     * @return the animal's pack leader, or null if it has no pack
+     */
+    public UUID getLeader(UUID animalId) {
+        return entityToPackLeader.get(animalId);
+    }
+
+    /**
+     * @return true if the animal belongs to a pack
+     */
+    public boolean hasPack(UUID animalId) {
+        return entityToPackLeader.containsKey(animalId);
+    }
+
+    /**
+     * @return the pack led by an animal, or null if it leads none
+     */
+    public Pack getPack(UUID leaderId) {
+        return packs.get(leaderId);
+    }
+
+    /**
+     * Makes an animal its own "pack" of one.
+     */
+    public UUID makeSolo(UUID animalId) {
+        entityToPackLeader.put(animalId, animalId);
+        Pack pack = packs.computeIfAbsent(animalId, k -> new Pack());
+        pack.members.putIfAbsent(animalId, null);
+        pack.version = ++nextVersion;
+        return animalId;
+    }
+
+    /**
+     * Joins an animal to an existing pack.
+     */
+    public void joinPack(UUID animalId, UUID leaderId) {
+        entityToPackLeader.put(animalId, leaderId);
+        Pack pack = packs.computeIfAbsent(leaderId, k -> new Pack());
+        pack.members.putIfAbsent(animalId, null);
+        pack.version = ++nextVersion;
+    }
+
+    /**
+     * Moves animals into one pack under a leader, taking each out of any
+     * other pack first. Animals already in the leader's pack are untouched.
+     */
+    public void assign(UUID leaderId, Collection<UUID> members) {
+        if (!leaderId.equals(entityToPackLeader.get(leaderId))) {
+            leave(leaderId);
+            makeSolo(leaderId);
+        }
+
+        for (UUID memberId : members) {
+            if (memberId.equals(leaderId) || leaderId.equals(entityToPackLeader.get(memberId))) {
+                continue;
+            }
+            leave(memberId);
+            joinPack(memberId, leaderId);
+        }
+    }
+
+    /**
+     * Caches a member's entity so later lookups skip the UUID search.
+     */
+    public void attach(AnimalEntity animal) {
+        UUID leaderId = entityToPackLeader.get(animal.getUuid());
+        Pack pack = leaderId != null ? packs.get(leaderId) : null;
+        if (pack == null) {
+            return;
+        }
+
+        WeakReference<AnimalEntity> ref = pack.members.get(animal.getUuid());
+        if (ref == null || ref.get() != animal) {
+            pack.members.put(animal.getUuid(), new WeakReference<>(animal));
+        }
+    }
+
+    /**
+     * Removes an animal from its current pack. If it was the leader, another
+     * member takes over.
+     */
+    public void leave(UUID animalId) {
+        UUID leaderId = entityToPackLeader.remove(animalId);
+        if (leaderId == null) {
+            return;
+        }
+
+        Pack pack = packs.get(leaderId);
+        if (pack == null) {
+            return;
+        }
+
+        pack.members.remove(animalId);
+        pack.version = ++nextVersion;
+        if (pack.members.isEmpty()) {
+            packs.remove(leaderId);
+        } else if (animalId.equals(leaderId)) {
+            // Leader left - assign new leader
+            UUID newLeader = pack.members.keySet().iterator().next();
+            packs.remove(leaderId);
+            packs.put(newLeader, pack);
+
+            for (UUID memberId : pack.members.keySet()) {
+                entityToPackLeader.put(memberId, newLeader);
+            }
+        }
+    }
+
+    /**
+     * Gets a stamp of an animal's pack that changes whenever the pack's
+     * membership or leader changes, or the animal moves to another pack.
+     * Changes to other packs leave it alone.
+     *
+     * @return the stamp, or 0 if the animal has no pack
+     */
+    public int getVersion(UUID animalId) {
+        UUID leaderId = entityToPackLeader.get(animalId);
+        Pack pack = leaderId != null ? packs.get(leaderId) : null;
+        return pack != null ? pack.version : 0;
+    }
+
+    /**
+     * @return the number of animals with a pack
+     */
+    public int getMemberCount() {
+        return entityToPackLeader.size();
+    }
+
+    /**
+     * @return the number of packs, solo animals included
+     */
+    public int getPackCount() {
+        return packs.size();
+    }
+}
@@ -1,78 +1,80 @@
 package com.trophic.behavior.ai;
 
 import com.trophic.Trophic;
-import com.trophic.registry.SpeciesRegistry;
+import com.trophic.config.TrophicConfig;
+import com.trophic.registry.ResolvedSpecies;
+import com.trophic.spatial.SpatialIndex;
+import com.trophic.spatial.SpatialIndexManager;
+import com.trophic.spatial.ThreatMap;
+import com.trophic.spatial.ThreatMapManager;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.entity.passive.AnimalEntity;
-import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.math.Box;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.Set;
+import java.util.BitSet;
 
 /**
  * Utility class for prey animals to detect nearby predators.
+ *
+ * Checks read the prey's cell of the {@link ThreatMap} first and only scan
+ * the spatial index and cast rays when the local threat is high enough.
  */
 public class PredatorAwareness {
+    private static long scansRun;
+    private static long scansSkipped;
     
     /**
-     * Scans for predators that hunt this entity type.
+     * Gets the threat this species' predators have left at the prey's position.
+     * 
+     * @return the threat, from 0 (none) to 1 (a predator in the same chunk)
+     */
+    public static double getLocalThreat(AnimalEntity prey, ResolvedSpecies species) {
+        ThreatMap threats = ThreatMapManager.of(prey);
+        return threats != null ? threats.getThreat(prey.getX(), prey.getZ(), species.getPredatorBits()) : 0.0;
+    }
+    
+    private static boolean isThreatened(AnimalEntity prey, ResolvedSpecies species) {
+        if (getLocalThreat(prey, species) < TrophicConfig.get().flee.threatThreshold) {
+            scansSkipped++;
+            return false;
+        }
+        scansRun++;
+        return true;
+    }
+    
+    /**
+     * Scans for predators that hunt this entity type. Returns null without
+     * scanning when the local threat is below the configured threshold.
      * 
      * @param prey the potential prey entity
      * @param range the detection range
      * @return the nearest threatening predator, or null
      */
     public static LivingEntity findNearestPredator(AnimalEntity prey, double range) {
-        Identifier preyId = Registries.ENTITY_TYPE.getId(prey.getType());
-        SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
+        ResolvedSpecies species = Trophic.getInstance().getSpeciesRegistry().resolve(prey);
         
         // Get all predators of this species
-        Set<Identifier> predatorIds = registry.getPredatorsOf(preyId);
-        if (predatorIds.isEmpty()) {
+        if (species == null || !species.hasPredators()) {
             return null;
         }
-        
-        // Search for predators in range
-        Box searchBox = prey.getBoundingBox().expand(range);
-        List<LivingEntity> nearbyPredators = prey.getEntityWorld().getEntitiesByClass(
-                LivingEntity.class,
-                searchBox,
-                entity -> isPredatorThreat(entity, prey, predatorIds)
-        );
-        
-        if (nearbyPredators.isEmpty()) {
+        if (!isThreatened(prey, species)) {
             return null;
         }
+        BitSet predatorMask = species.getPredatorMask();
         
-        // Return the nearest predator
-        return nearbyPredators.stream()
-                .min(Comparator.comparingDouble(prey::squaredDistanceTo))
-                .orElse(null);
-    }
-    
-    /**
-     * Checks if an entity is a threatening predator.
-     */
-    private static boolean isPredatorThreat(LivingEntity entity, AnimalEntity prey, Set<Identifier> predatorIds) {
-        if (entity == prey || !entity.isAlive()) {
-            return false;
-        }
-        
-        Identifier entityId = Registries.ENTITY_TYPE.getId(entity.getType());
-        if (!predatorIds.contains(entityId)) {
-            return false;
-        }
-        
-        // Check if predator can see us (more threatening)
-        if (entity instanceof MobEntity mob) {
-            // Predator is more threatening if it's looking at us
-            return mob.canSee(prey);
+        SpatialIndex index = SpatialIndexManager.of(prey);
+        if (index == null) {
+            return null;
         }
         
-        return true;
+        // Nearest predator in range; line of sight is only checked for closer candidates
+        return index.findBest(
+                prey.getX(), prey.getY(), prey.getZ(), range, predatorMask,
+                prey,
+                (target, predator, distanceSq) -> distanceSq,
+                (target, predator) -> predator.canSee(target)
+        );
     }
     
     /**
@@ -127,22 +129,35 @@ public class PredatorAwareness {
      * Checks if the prey should be alert (predators nearby but not immediate threat).
      */
     public static boolean shouldBeAlert(AnimalEntity prey, double alertRange) {
-        Identifier preyId = Registries.ENTITY_TYPE.getId(prey.getType());
-        SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        Set<Identifier> predatorIds = registry.getPredatorsOf(preyId);
-        
-        if (predatorIds.isEmpty()) {
+        ResolvedSpecies species = Trophic.getInstance().getSpeciesRegistry().resolve(prey);
+        if (species == null || !species.hasPredators() || !isThreatened(prey, species)) {
             return false;
         }
         
-        Box searchBox = prey.getBoundingBox().expand(alertRange);
-        return prey.getEntityWorld().getEntitiesByClass(
-                LivingEntity.class,
-                searchBox,
-                entity -> {
-                    Identifier entityId = Registries.ENTITY_TYPE.getId(entity.getType());
-                    return predatorIds.contains(entityId) && entity.isAlive();
-                }
-        ).size() > 0;
+        // The predator that left the threat is close enough; no scan needed
+        ThreatMap threats = ThreatMapManager.of(prey);
+        if (threats != null && threats.getSourceDistanceSq(prey.getX(), prey.getY(), prey.getZ(),
+                species.getPredatorBits()) <= alertRange * alertRange) {
+            return true;
+        }
+        
+        BitSet predatorMask = species.getPredatorMask();
+        
+        SpatialIndex index = SpatialIndexManager.of(prey);
+        return index != null && index.count(prey.getX(), prey.getY(), prey.getZ(), alertRange, predatorMask) > 0;
+    }
+    
+    /**
+     * @return the number of predator scans run because the local threat was high enough
+     */
+    public static long getScansRun() {
+        return scansRun;
+    }
+    
+    /**
+     * @return the number of predator scans skipped on a low local threat
+     */
+    public static long getScansSkipped() {
+        return scansSkipped;
     }
 }
@@ -1,14 +1,16 @@
 package com.trophic.behavior.ai;
 
 import com.trophic.Trophic;
+import com.trophic.registry.ResolvedSpecies;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
+import com.trophic.spatial.SpatialIndex;
+import com.trophic.spatial.SpatialIndexManager;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.entity.passive.AnimalEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.math.Box;
 
 import java.util.*;
 import java.util.function.Predicate;
@@ -26,35 +28,46 @@ public class PreyScanner {
      * @return the best prey target, or null if none found
      */
     public static LivingEntity findBestPrey(MobEntity predator, double range) {
-        Identifier predatorId = Registries.ENTITY_TYPE.getId(predator.getType());
-        SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition predatorSpecies = registry.getSpecies(predatorId).orElse(null);
+        ResolvedSpecies predatorSpecies = Trophic.getInstance().getSpeciesRegistry().resolve(predator);
         
-        if (predatorSpecies == null || predatorSpecies.getDiet() == null) {
+        if (predatorSpecies == null || !predatorSpecies.canHunt()) {
             return null;
         }
         
-        SpeciesDefinition.Diet diet = predatorSpecies.getDiet();
-        if (!diet.type().canHunt() || diet.prey().isEmpty()) {
+        SpeciesDefinition.Diet diet = predatorSpecies.getDefinition().getDiet();
+        if (diet.prey().isEmpty()) {
             return null;
         }
         
-        // Get all potential prey in range
-        Box searchBox = predator.getBoundingBox().expand(range);
-        List<LivingEntity> potentialPrey = predator.getEntityWorld().getEntitiesByClass(
-                LivingEntity.class,
-                searchBox,
-                entity -> isValidPrey(entity, predator, diet)
-        );
-        
-        if (potentialPrey.isEmpty()) {
+        SpatialIndex index = SpatialIndexManager.of(predator);
+        BitSet preyMask = predatorSpecies.getPreyMask();
+        if (index == null || preyMask.isEmpty()) {
             return null;
         }
         
-        // Score and sort prey by preference and distance
-        return potentialPrey.stream()
-                .min(Comparator.comparingDouble(prey -> scorePreyTarget(predator, prey, diet)))
-                .orElse(null);
+        // Best-scoring prey in range; line of sight is only checked for improving candidates
+        return index.findBest(
+                predator.getX(), predator.getY(), predator.getZ(), range, preyMask,
+                predator,
+                (hunter, prey, distanceSq) -> isEligiblePrey(prey)
+                        ? scorePreyTarget(hunter, prey, diet)
+                        : Double.POSITIVE_INFINITY,
+                PreyScanner::canSeePrey
+        );
+    }
+    
+    /**
+     * Cheap eligibility checks for an indexed candidate whose species is already known to be prey.
+     */
+    public static boolean isEligiblePrey(LivingEntity target) {
+        return !(target instanceof AnimalEntity animal && animal.isBaby());
+    }
+    
+    /**
+     * Line-of-sight check, kept separate so it only runs for promising candidates.
+     */
+    public static boolean canSeePrey(MobEntity predator, MobEntity prey) {
+        return predator.canSee(prey);
     }
     
     /**
@@ -93,7 +106,15 @@ public class PreyScanner {
         Identifier preyId = Registries.ENTITY_TYPE.getId(prey.getType());
         SpeciesDefinition.PreyInfo preyInfo = diet.getPreyInfo(preyId).orElse(null);
         
-        double distanceSq = predator.squaredDistanceTo(prey);
+        return scorePreyTarget(predator.squaredDistanceTo(prey), preyInfo);
+    }
+    
+    /**
+     * Scores a prey target from its squared distance and prey info (lower is better).
+     * 
+     * @param preyInfo the prey preference, or null for an unlisted prey
+     */
+    public static double scorePreyTarget(double distanceSq, SpeciesDefinition.PreyInfo preyInfo) {
         double preference = preyInfo != null ? preyInfo.preference() : 0.1;
         
         // Lower score = better target
@@ -127,9 +148,9 @@ public class PreyScanner {
      * Gets the hunt cooldown for a predator species.
      */
     public static int getHuntCooldown(MobEntity predator) {
-        Identifier predatorId = Registries.ENTITY_TYPE.getId(predator.getType());
         SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition predatorSpecies = registry.getSpecies(predatorId).orElse(null);
+        ResolvedSpecies resolved = registry.resolve(predator);
+        SpeciesDefinition predatorSpecies = resolved != null ? resolved.getDefinition() : null;
         
         if (predatorSpecies == null || predatorSpecies.getDiet() == null) {
             return 6000; // Default 5 minutes
@@ -142,9 +163,9 @@ public class PreyScanner {
      * Creates a predicate for filtering prey entities.
      */
     public static Predicate<LivingEntity> createPreyPredicate(MobEntity predator) {
-        Identifier predatorId = Registries.ENTITY_TYPE.getId(predator.getType());
         SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition predatorSpecies = registry.getSpecies(predatorId).orElse(null);
+        ResolvedSpecies resolved = registry.resolve(predator);
+        SpeciesDefinition predatorSpecies = resolved != null ? resolved.getDefinition() : null;
         
         if (predatorSpecies == null || predatorSpecies.getDiet() == null) {
             return entity -> false;
@@ -0,0 +1,77 @@
+package com.trophic.behavior.ai;
+
+import com.trophic.Trophic;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.world.World;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Owns the per-world {@link PackStore} and {@link TerritoryStore}.
+ *
+ * Entries are removed through {@link PackCoordinator#onEntityRemoved} and
+ * {@link TerritoryManager#onEntityRemoved} when their animal dies or unloads,
+ * and a world's stores are dropped with the world, so social state cannot
+ * outlive the animals it describes or leak between dimensions.
+ */
+public class SocialStoreManager {
+
+    /**
+     * Live entry counts for one world.
+     */
+    public record StoreStats(int packMembers, int packs, int territories, int territoryCells) {}
+
+    private final Map<World, PackStore> packStores = new HashMap<>();
+    private final Map<World, TerritoryStore> territoryStores = new HashMap<>();
+
+    /**
+     * Registers the world unload handler.
+     */
+    public void register() {
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            packStores.remove(world);
+            territoryStores.remove(world);
+        });
+
+        Trophic.LOGGER.info("SocialStoreManager registered");
+    }
+
+    /**
+     * Gets the pack store for a world, creating it if needed.
+     */
+    public PackStore getPackStore(World world) {
+        return packStores.computeIfAbsent(world, k -> new PackStore());
+    }
+
+    /**
+     * Gets the territory store for a world, creating it if needed.
+     */
+    public TerritoryStore getTerritoryStore(World world) {
+        return territoryStores.computeIfAbsent(world, k -> new TerritoryStore());
+    }
+
+    /**
+     * @return live entry counts keyed by world id
+     */
+    public Map<String, StoreStats> getStats() {
+        Set<World> worlds = new LinkedHashSet<>(packStores.keySet());
+        worlds.addAll(territoryStores.keySet());
+
+        Map<String, StoreStats> stats = new LinkedHashMap<>();
+        for (World world : worlds) {
+            PackStore packs = packStores.get(world);
+            TerritoryStore territories = territoryStores.get(world);
+            stats.put(world.getRegistryKey().getValue().toString(), new StoreStats(
+                    packs != null ? packs.getMemberCount() : 0,
+                    packs != null ? packs.getPackCount() : 0,
+                    territories != null ? territories.getTerritoryCount() : 0,
+                    territories != null ? territories.getIndexedCellCount() : 0
+            ));
+        }
+        return stats;
+    }
+}
@@ -1,6 +1,7 @@
 package com.trophic.behavior.ai;
 
 import com.trophic.Trophic;
+import com.trophic.behavior.EcologicalEntity;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
 import net.minecraft.entity.passive.AnimalEntity;
@@ -8,14 +9,16 @@ import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Manages territory claims and conflicts between animals.
+ * 
+ * Claims are kept per world in a {@link TerritoryStore}, a uniform grid
+ * that answers containment and nearest-boundary queries without allocating.
  */
 public class TerritoryManager {
     
@@ -43,11 +46,9 @@ public class TerritoryManager {
         }
     }
     
-    // Territory claims per entity
-    private static final Map<UUID, Territory> territories = new HashMap<>();
-    
-    // Spatial index for quick lookups (simplified - per chunk)
-    private static final Map<Long, Map<UUID, Territory>> spatialIndex = new HashMap<>();
+    private static TerritoryStore store(World world) {
+        return Trophic.getInstance().getSocialStoreManager().getTerritoryStore(world);
+    }
     
     /**
      * Claims a territory for an animal.
@@ -72,83 +73,36 @@ public class TerritoryManager {
                 animal.getEntityWorld().getTime()
         );
         
-        // Remove old territory if exists
-        releaseTerritory(animal.getUuid());
-        
-        // Register new territory
-        territories.put(animal.getUuid(), territory);
-        updateSpatialIndex(territory, true);
-        
+        store(animal.getEntityWorld()).put(territory);
         return territory;
     }
     
     /**
      * Gets the territory claimed by an animal.
      */
-    public static Optional<Territory> getTerritory(UUID animalId) {
-        return Optional.ofNullable(territories.get(animalId));
+    public static Optional<Territory> getTerritory(World world, UUID animalId) {
+        return store(world).get(animalId);
     }
     
     /**
      * Releases an animal's territory claim.
      */
-    public static void releaseTerritory(UUID animalId) {
-        Territory old = territories.remove(animalId);
-        if (old != null) {
-            updateSpatialIndex(old, false);
-        }
-    }
-    
-    /**
-     * Updates the spatial index for quick territory lookups.
-     */
-    private static void updateSpatialIndex(Territory territory, boolean add) {
-        // Calculate affected chunk positions
-        int minCX = (territory.center.getX() - territory.radius) >> 4;
-        int maxCX = (territory.center.getX() + territory.radius) >> 4;
-        int minCZ = (territory.center.getZ() - territory.radius) >> 4;
-        int maxCZ = (territory.center.getZ() + territory.radius) >> 4;
-        
-        for (int cx = minCX; cx <= maxCX; cx++) {
-            for (int cz = minCZ; cz <= maxCZ; cz++) {
-                long key = chunkKey(cx, cz);
-                if (add) {
-                    spatialIndex.computeIfAbsent(key, k -> new HashMap<>())
-                            .put(territory.ownerId, territory);
-                } else {
-                    Map<UUID, Territory> chunk = spatialIndex.get(key);
-                    if (chunk != null) {
-                        chunk.remove(territory.ownerId);
-                        if (chunk.isEmpty()) {
-                            spatialIndex.remove(key);
-                        }
-                    }
-                }
-            }
-        }
+    public static void releaseTerritory(World world, UUID animalId) {
+        store(world).release(animalId);
     }
     
     /**
      * Finds territories that contain a given position.
      */
-    public static Optional<Territory> findTerritoryAt(BlockPos pos) {
-        long key = chunkKey(pos.getX() >> 4, pos.getZ() >> 4);
-        Map<UUID, Territory> chunk = spatialIndex.get(key);
-        
-        if (chunk == null) {
-            return Optional.empty();
-        }
-        
-        return chunk.values().stream()
-                .filter(t -> t.contains(pos))
-                .findFirst();
+    public static Optional<Territory> findTerritoryAt(World world, BlockPos pos) {
+        return store(world).findAt(pos);
     }
     
     /**
      * Checks if a position is inside another animal's territory (intruding).
      */
     public static boolean isIntruding(AnimalEntity animal, BlockPos pos) {
-        Optional<Territory> territoryAt = findTerritoryAt(pos);
+        Optional<Territory> territoryAt = findTerritoryAt(animal.getEntityWorld(), pos);
         if (territoryAt.isEmpty()) {
             return false;
         }
@@ -168,25 +122,15 @@ public class TerritoryManager {
     /**
      * Finds the territory owner if this position is intruding.
      */
-    public static Optional<UUID> findTerritoryOwner(BlockPos pos, Identifier speciesId) {
-        long key = chunkKey(pos.getX() >> 4, pos.getZ() >> 4);
-        Map<UUID, Territory> chunk = spatialIndex.get(key);
-        
-        if (chunk == null) {
-            return Optional.empty();
-        }
-        
-        return chunk.values().stream()
-                .filter(t -> t.contains(pos) && t.speciesId.equals(speciesId))
-                .map(Territory::ownerId)
-                .findFirst();
+    public static Optional<UUID> findTerritoryOwner(World world, BlockPos pos, Identifier speciesId) {
+        return store(world).findOwner(pos, speciesId);
     }
     
     /**
      * Checks if an animal should defend its territory against an intruder.
      */
     public static boolean shouldDefend(AnimalEntity owner, AnimalEntity intruder) {
-        Optional<Territory> territory = getTerritory(owner.getUuid());
+        Optional<Territory> territory = getTerritory(owner.getEntityWorld(), owner.getUuid());
         if (territory.isEmpty()) {
             return false;
         }
@@ -204,40 +148,49 @@ public class TerritoryManager {
      * Gets the distance from a position to the nearest territory boundary.
      * Negative values indicate inside a territory.
      */
-    public static double getDistanceToTerritoryBoundary(BlockPos pos, UUID excludeOwner) {
-        long key = chunkKey(pos.getX() >> 4, pos.getZ() >> 4);
-        Map<UUID, Territory> chunk = spatialIndex.get(key);
-        
-        if (chunk == null) {
-            return Double.MAX_VALUE;
+    public static double getDistanceToTerritoryBoundary(World world, BlockPos pos, UUID excludeOwner) {
+        return store(world).distanceToBoundary(pos, excludeOwner);
+    }
+    
+    /**
+     * Collects the territories with the nearest boundaries to a position,
+     * sorted by boundary distance.
+     *
+     * @param speciesId only consider this species, or null for any
+     * @param out destination array; its length bounds k
+     * @return the number of territories written to {@code out}
+     */
+    public static int findNearestTerritories(World world, BlockPos pos, UUID excludeOwner, Identifier speciesId,
+                                             double maxDistance, Territory[] out) {
+        return store(world).findNearestBoundaries(pos, excludeOwner, speciesId, maxDistance, out);
+    }
+    
+    /**
+     * Restores the territory claim saved with an animal, as long as its
+     * species is still territorial.
+     */
+    public static void onEntityLoaded(AnimalEntity animal) {
+        Territory saved = ((EcologicalEntity) animal).trophic_getSavedTerritory();
+        if (saved == null || saved.radius() <= 0) {
+            return;
         }
         
-        double minDistance = Double.MAX_VALUE;
-        
-        for (Territory territory : chunk.values()) {
-            if (territory.ownerId.equals(excludeOwner)) {
-                continue;
-            }
-            
-            double distToCenter = Math.sqrt(territory.center.getSquaredDistance(pos));
-            double distToBoundary = distToCenter - territory.radius;
-            
-            if (distToBoundary < minDistance) {
-                minDistance = distToBoundary;
-            }
+        SpeciesDefinition species = Trophic.getInstance().getSpeciesRegistry()
+                .getSpecies(saved.speciesId()).orElse(null);
+        if (species == null || species.getSocial() == null || species.getSocial().territoryRadius() <= 0) {
+            return;
         }
         
-        return minDistance;
-    }
-    
-    private static long chunkKey(int cx, int cz) {
-        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+        TerritoryStore store = store(animal.getEntityWorld());
+        if (store.get(animal.getUuid()).isEmpty()) {
+            store.put(saved);
+        }
     }
     
     /**
      * Clean up territories for removed entities.
      */
-    public static void onEntityRemoved(UUID entityId) {
-        releaseTerritory(entityId);
+    public static void onEntityRemoved(World world, UUID entityId) {
+        releaseTerritory(world, entityId);
     }
 }
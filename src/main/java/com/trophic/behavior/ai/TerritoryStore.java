@@ -0,0 +1,293 @@
+package com.trophic.behavior.ai;
+
+import com.trophic.behavior.ai.TerritoryManager.Territory;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Territory claims for one world, indexed on a uniform grid. Owned by
+ * {@link SocialStoreManager} and used through {@link TerritoryManager}.
+ *
+ * Claims live in slot arrays (centre, radius and the record itself). Each
+ * grid cell is {@value #CELL_SIZE} blocks wide and holds the slots of the
+ * territories whose bounding square overlaps it, so a territory of radius
+ * up to 64 touches at most 9 cells. Point queries read one cell; nearest
+ * boundary queries walk rings of cells outward and stop once no further
+ * ring can hold a closer boundary. No query allocates.
+ *
+ * Server thread only.
+ */
+public class TerritoryStore {
+    public static final int CELL_SIZE = 64;
+    private static final int CELL_SHIFT = 6;
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Distance beyond which distanceToBoundary reports no territory
+    private static final double BOUNDARY_SEARCH_RADIUS = 2 * CELL_SIZE;
+
+    // Claim slots, reused through the free list
+    private Territory[] slots = new Territory[INITIAL_CAPACITY];
+    private int[] centerXs = new int[INITIAL_CAPACITY];
+    private int[] centerYs = new int[INITIAL_CAPACITY];
+    private int[] centerZs = new int[INITIAL_CAPACITY];
+    private int[] radii = new int[INITIAL_CAPACITY];
+    // Query stamp per slot, so territories spanning several cells are seen once
+    private int[] visited = new int[INITIAL_CAPACITY];
+    private int slotCount;
+    private final IntArrayList freeSlots = new IntArrayList();
+    private final Object2IntOpenHashMap<UUID> slotOf = new Object2IntOpenHashMap<>();
+
+    // Slots overlapping each grid cell
+    private final Long2ObjectOpenHashMap<IntArrayList> cells = new Long2ObjectOpenHashMap<>();
+    private int stamp;
+
+    // Reusable nearest-boundary results
+    private final Territory[] nearestScratch = new Territory[1];
+    private double[] distanceScratch = new double[8];
+
+    public TerritoryStore() {
+        slotOf.defaultReturnValue(-1);
+    }
+
+    /**
+     * Registers a territory, replacing any previous claim by its owner.
+     */
+    public void put(Territory territory) {
+        // Remove old territory if exists
+        release(territory.ownerId());
+
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.popInt();
+        ensureCapacity(slotCount);
+        slots[slot] = territory;
+        centerXs[slot] = territory.center().getX();
+        centerYs[slot] = territory.center().getY();
+        centerZs[slot] = territory.center().getZ();
+        radii[slot] = Math.max(0, territory.radius());
+        slotOf.put(territory.ownerId(), slot);
+
+        int minCX = (centerXs[slot] - radii[slot]) >> CELL_SHIFT;
+        int maxCX = (centerXs[slot] + radii[slot]) >> CELL_SHIFT;
+        int minCZ = (centerZs[slot] - radii[slot]) >> CELL_SHIFT;
+        int maxCZ = (centerZs[slot] + radii[slot]) >> CELL_SHIFT;
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                cells.computeIfAbsent(ChunkPos.toLong(cx, cz), k -> new IntArrayList(4)).add(slot);
+            }
+        }
+    }
+
+    /**
+     * Gets the territory claimed by an animal.
+     */
+    public Optional<Territory> get(UUID animalId) {
+        int slot = slotOf.getInt(animalId);
+        return slot >= 0 ? Optional.of(slots[slot]) : Optional.empty();
+    }
+
+    /**
+     * Releases an animal's territory claim.
+     */
+    public void release(UUID animalId) {
+        int slot = slotOf.removeInt(animalId);
+        if (slot < 0) {
+            return;
+        }
+
+        int minCX = (centerXs[slot] - radii[slot]) >> CELL_SHIFT;
+        int maxCX = (centerXs[slot] + radii[slot]) >> CELL_SHIFT;
+        int minCZ = (centerZs[slot] - radii[slot]) >> CELL_SHIFT;
+        int maxCZ = (centerZs[slot] + radii[slot]) >> CELL_SHIFT;
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                long key = ChunkPos.toLong(cx, cz);
+                IntArrayList cell = cells.get(key);
+                if (cell == null) {
+                    continue;
+                }
+                // Swap-remove; cell order carries no meaning
+                int index = cell.indexOf(slot);
+                if (index >= 0) {
+                    int last = cell.size() - 1;
+                    cell.set(index, cell.getInt(last));
+                    cell.removeInt(last);
+                }
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+
+        slots[slot] = null;
+        freeSlots.add(slot);
+    }
+
+    /**
+     * Finds a territory that contains a given position.
+     */
+    public Optional<Territory> findAt(BlockPos pos) {
+        return Optional.ofNullable(find(pos, null));
+    }
+
+    /**
+     * Finds the owner of a same-species territory containing a position.
+     */
+    public Optional<UUID> findOwner(BlockPos pos, Identifier speciesId) {
+        Territory territory = find(pos, speciesId);
+        return territory != null ? Optional.of(territory.ownerId()) : Optional.empty();
+    }
+
+    private Territory find(BlockPos pos, Identifier speciesId) {
+        IntArrayList cell = cells.get(ChunkPos.toLong(pos.getX() >> CELL_SHIFT, pos.getZ() >> CELL_SHIFT));
+        if (cell == null) {
+            return null;
+        }
+
+        for (int i = 0, n = cell.size(); i < n; i++) {
+            Territory territory = slots[cell.getInt(i)];
+            if (territory.contains(pos) && (speciesId == null || territory.speciesId().equals(speciesId))) {
+                return territory;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the distance from a position to the nearest territory boundary
+     * within two grid cells, across cell and chunk borders. Negative values
+     * indicate inside a territory.
+     */
+    public double distanceToBoundary(BlockPos pos, UUID excludeOwner) {
+        int found = findNearestBoundaries(pos, excludeOwner, null, BOUNDARY_SEARCH_RADIUS, nearestScratch);
+        nearestScratch[0] = null;
+        return found > 0 ? distanceScratch[0] : Double.MAX_VALUE;
+    }
+
+    /**
+     * Collects the territories with the nearest boundaries, sorted by
+     * boundary distance. Territories containing the position come first.
+     *
+     * @param excludeOwner an owner to skip (usually the querying animal), or null
+     * @param speciesId only consider this species, or null for any
+     * @param maxDistance ignore boundaries further than this many blocks
+     * @param out destination array; its length bounds k
+     * @return the number of territories written to {@code out}
+     */
+    public int findNearestBoundaries(BlockPos pos, UUID excludeOwner, Identifier speciesId,
+                                     double maxDistance, Territory[] out) {
+        int k = out.length;
+        if (k == 0 || slotOf.isEmpty()) {
+            return 0;
+        }
+        if (distanceScratch.length < k) {
+            distanceScratch = new double[k];
+        }
+        double[] distances = distanceScratch;
+        int query = nextStamp();
+
+        int qx = pos.getX() >> CELL_SHIFT;
+        int qz = pos.getZ() >> CELL_SHIFT;
+        int maxRing = (int) Math.ceil(maxDistance / CELL_SIZE) + 1;
+        int found = 0;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every territory first met in this ring overlaps a cell at least
+            // (ring - 1) cells away, so its boundary is at least that far
+            double ringBound = (ring - 1) * (double) CELL_SIZE;
+            if (found == k && ringBound > distances[k - 1]) {
+                break;
+            }
+
+            for (int cx = qx - ring; cx <= qx + ring; cx++) {
+                // Interior rows only need the two edge cells
+                int step = (cx == qx - ring || cx == qx + ring) ? 1 : Math.max(1, 2 * ring);
+                for (int cz = qz - ring; cz <= qz + ring; cz += step) {
+                    IntArrayList cell = cells.get(ChunkPos.toLong(cx, cz));
+                    if (cell == null) {
+                        continue;
+                    }
+
+                    for (int i = 0, n = cell.size(); i < n; i++) {
+                        int slot = cell.getInt(i);
+                        if (visited[slot] == query) {
+                            continue;
+                        }
+                        visited[slot] = query;
+
+                        Territory territory = slots[slot];
+                        if (territory.ownerId().equals(excludeOwner)
+                                || (speciesId != null && !territory.speciesId().equals(speciesId))) {
+                            continue;
+                        }
+
+                        double distance = boundaryDistance(pos, slot);
+                        if (distance > maxDistance || (found == k && distance >= distances[k - 1])) {
+                            continue;
+                        }
+
+                        // Insertion into the sorted result
+                        int j = found < k ? found++ : k - 1;
+                        while (j > 0 && distances[j - 1] > distance) {
+                            out[j] = out[j - 1];
+                            distances[j] = distances[j - 1];
+                            j--;
+                        }
+                        out[j] = territory;
+                        distances[j] = distance;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private double boundaryDistance(BlockPos pos, int slot) {
+        double dx = pos.getX() - centerXs[slot];
+        double dy = pos.getY() - centerYs[slot];
+        double dz = pos.getZ() - centerZs[slot];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz) - radii[slot];
+    }
+
+    private int nextStamp() {
+        if (++stamp == 0) {
+            // Wrapped: old stamps could collide, so clear them
+            Arrays.fill(visited, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= slots.length) {
+            return;
+        }
+        int grown = Math.max(capacity, slots.length * 2);
+        slots = Arrays.copyOf(slots, grown);
+        centerXs = Arrays.copyOf(centerXs, grown);
+        centerYs = Arrays.copyOf(centerYs, grown);
+        centerZs = Arrays.copyOf(centerZs, grown);
+        radii = Arrays.copyOf(radii, grown);
+        visited = Arrays.copyOf(visited, grown);
+    }
+
+    /**
+     * @return the number of claimed territories
+     */
+    public int getTerritoryCount() {
+        return slotOf.size();
+    }
+
+    /**
+     * @return the number of grid cells with at least one territory
+     */
+    public int getIndexedCellCount() {
+        return cells.size();
+    }
+}
@@ -4,42 +4,51 @@ import com.trophic.Trophic;
 import com.trophic.behavior.EcologicalEntity;
 import com.trophic.behavior.ai.PredatorAwareness;
 import com.trophic.config.TrophicConfig;
-import com.trophic.registry.SpeciesRegistry;
+import com.trophic.pathing.PathScheduler;
+import com.trophic.registry.ResolvedSpecies;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.ai.pathing.Path;
 import net.minecraft.entity.passive.AnimalEntity;
 import net.minecraft.registry.Registries;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 
 import java.util.EnumSet;
-import java.util.Set;
 
 /**
  * AI goal for prey animals to detect and flee from predators.
  * 
  * Features:
- * - Scans for predators based on species registry
+ * - Scans for predators only where the threat map reports some
  * - Flees in the opposite direction
  * - Respects home range to prevent emergent migration
  * - Higher priority when predator is close
  */
-public class FleePredatorGoal extends Goal {
+public class FleePredatorGoal extends TrophicGoal {
     private final AnimalEntity prey;
     private final double detectionRange;
     private final double fleeSpeed;
     
     private LivingEntity predator;
+    private double safeDistanceSq;
     private Vec3d fleeTarget;
     private int fleeTimer;
+    private int retryCooldown;
+    private PathScheduler.Request pathRequest;
+    
+    // Candidate flee targets from the last calculation, best score first
+    private final long[] candidates = new long[CANDIDATE_COUNT];
+    private final double[] candidateScores = new double[CANDIDATE_COUNT];
+    private int candidateCount;
+    
+    private static final int CANDIDATE_COUNT = 8;
 
     public FleePredatorGoal(AnimalEntity prey, double fleeSpeed) {
         this(prey, fleeSpeed, TrophicConfig.get().flee.detectionRange);
     }
 
     public FleePredatorGoal(AnimalEntity prey, double fleeSpeed, double detectionRange) {
+        super(prey);
         this.prey = prey;
         this.fleeSpeed = fleeSpeed;
         this.detectionRange = detectionRange;
@@ -48,29 +57,30 @@ public class FleePredatorGoal extends Goal {
     }
 
     @Override
-    public boolean canStart() {
-        // Check if this species has predators
-        Identifier preyId = Registries.ENTITY_TYPE.getId(prey.getType());
-        SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        Set<Identifier> predatorIds = registry.getPredatorsOf(preyId);
+    protected boolean canStartGoal() {
+        if (retryCooldown > 0) {
+            retryCooldown--;
+            return false;
+        }
         
-        if (predatorIds.isEmpty()) {
+        // Check if this species has predators
+        ResolvedSpecies species = Trophic.getInstance().getSpeciesRegistry().resolve(prey);
+        if (species == null || !species.hasPredators()) {
             return false;
         }
         
-        // Look for predators
+        // Look for predators; cheap when the threat map shows none nearby
         predator = PredatorAwareness.findNearestPredator(prey, detectionRange);
         if (predator == null) {
             return false;
         }
         
-        // Calculate flee direction
-        fleeTarget = calculateFleeTarget();
-        return fleeTarget != null;
+        // Flee directions are pathed asynchronously once the goal starts
+        return true;
     }
 
     @Override
-    public boolean shouldContinue() {
+    protected boolean shouldContinueGoal() {
         if (predator == null || !predator.isAlive()) {
             return false;
         }
@@ -80,18 +90,21 @@ public class FleePredatorGoal extends Goal {
         }
         
         // Stop fleeing if predator is far enough away
-        double safeDistance = PredatorAwareness.getFleeDistance(
-                Registries.ENTITY_TYPE.getId(predator.getType())
-        );
-        
-        double multiplier = TrophicConfig.get().flee.safeDistanceMultiplier;
-        return prey.squaredDistanceTo(predator) < safeDistance * safeDistance * multiplier;
+        return prey.squaredDistanceTo(predator) < safeDistanceSq;
     }
 
     @Override
     public void start() {
         fleeTimer = 0;
         
+        // The predator is fixed for the whole flight, so its safe distance is too
+        double safeDistance = PredatorAwareness.getFleeDistance(
+                Registries.ENTITY_TYPE.getId(predator.getType())
+        );
+        safeDistanceSq = safeDistance * safeDistance * TrophicConfig.get().flee.safeDistanceMultiplier;
+        
+        requestFleePath();
+        
         Trophic.LOGGER.debug("{} started fleeing from {}", 
                 Registries.ENTITY_TYPE.getId(prey.getType()),
                 Registries.ENTITY_TYPE.getId(predator.getType()));
@@ -101,31 +114,55 @@ public class FleePredatorGoal extends Goal {
     public void stop() {
         predator = null;
         fleeTarget = null;
+        Trophic.getInstance().getPathScheduler().cancel(pathRequest);
+        pathRequest = null;
         prey.getNavigation().stop();
     }
 
     @Override
-    public void tick() {
+    protected void tickGoal() {
         fleeTimer++;
         
         // Recalculate flee direction periodically
         if (fleeTimer % TrophicConfig.get().flee.recalculateInterval == 0) {
-            fleeTarget = calculateFleeTarget();
+            requestFleePath();
+        }
+    }
+    
+    /**
+     * Scores the flee directions and queues them for pathfinding, best first.
+     */
+    private void requestFleePath() {
+        calculateFleeCandidates();
+        if (candidateCount == 0) {
+            return;
         }
         
-        if (fleeTarget != null) {
-            prey.getNavigation().startMovingTo(
-                    fleeTarget.x, fleeTarget.y, fleeTarget.z, fleeSpeed
-            );
+        long[] targets = new long[candidateCount];
+        System.arraycopy(candidates, 0, targets, 0, candidateCount);
+        pathRequest = Trophic.getInstance().getPathScheduler().request(
+                prey, PathScheduler.Priority.FLEE, targets, 0, this::onFleePath);
+    }
+    
+    private void onFleePath(PathScheduler.Status status, Path path, int targetIndex) {
+        if (status == PathScheduler.Status.FOUND) {
+            fleeTarget = Vec3d.ofBottomCenter(pathRequest.getTarget(targetIndex));
+            prey.getNavigation().startMovingAlong(path, fleeSpeed);
+        } else if (status == PathScheduler.Status.FAILED && fleeTarget == null) {
+            // Cornered with nowhere to go - stop and try again shortly
+            predator = null;
+            retryCooldown = TrophicConfig.get().flee.recalculateInterval;
         }
     }
 
     /**
-     * Calculates the best flee target - away from the predator but within home range.
+     * Calculates flee targets - away from the predator but within home range -
+     * sorted by score. Reachability is checked later by the path scheduler.
      */
-    private Vec3d calculateFleeTarget() {
+    private void calculateFleeCandidates() {
+        candidateCount = 0;
         if (predator == null) {
-            return null;
+            return;
         }
         
         TrophicConfig.FleeConfig fleeConfig = TrophicConfig.get().flee;
@@ -158,10 +195,7 @@ public class FleePredatorGoal extends Goal {
         dz = dz / length * fleeDistance;
         
         // Try different angles, preferring directions that stay within home range
-        Vec3d bestTarget = null;
-        double bestScore = Double.MAX_VALUE;
-        
-        for (int i = 0; i < 8; i++) {
+        for (int i = 0; i < CANDIDATE_COUNT; i++) {
             double angle = i * Math.PI / 4;
             double rotatedDx = dx * Math.cos(angle) - dz * Math.sin(angle);
             double rotatedDz = dx * Math.sin(angle) + dz * Math.cos(angle);
@@ -172,16 +206,6 @@ public class FleePredatorGoal extends Goal {
                     prey.getZ() + rotatedDz
             );
             
-            // Check if we can path there
-            Path path = prey.getNavigation().findPathTo(
-                    new BlockPos((int) target.x, (int) target.y, (int) target.z),
-                    0
-            );
-            
-            if (path == null) {
-                continue;
-            }
-            
             // Score this target - lower is better
             // Primary: distance from predator (want to maximize)
             // Secondary: distance from home (want to minimize)
@@ -199,14 +223,18 @@ public class FleePredatorGoal extends Goal {
             
             // Score: want high distance from predator, low distance from home
             double score = distFromHome - distFromPredator * fleeConfig.predatorDistanceWeight;
+            long packed = BlockPos.ofFloored(target).asLong();
             
-            if (score < bestScore) {
-                bestScore = score;
-                bestTarget = target;
+            // Insert in score order
+            int pos = candidateCount++;
+            while (pos > 0 && candidateScores[pos - 1] > score) {
+                candidateScores[pos] = candidateScores[pos - 1];
+                candidates[pos] = candidates[pos - 1];
+                pos--;
             }
+            candidateScores[pos] = score;
+            candidates[pos] = packed;
         }
-        
-        return bestTarget;
     }
 
     /**
@@ -5,13 +5,17 @@ import com.trophic.behavior.EcologicalEntity;
 import com.trophic.config.TrophicConfig;
 import com.trophic.ecosystem.EcosystemManager;
 import com.trophic.ecosystem.RegionEcosystem;
+import com.trophic.pathing.PathScheduler;
 import com.trophic.registry.DietType;
-import com.trophic.registry.SpeciesDefinition;
-import com.trophic.registry.SpeciesRegistry;
-import net.minecraft.block.Block;
+import com.trophic.registry.ResolvedSpecies;
+import com.trophic.scheduling.TimingWheel;
+import com.trophic.scheduling.TimingWheelManager;
+import com.trophic.spatial.FoodMap;
+import com.trophic.spatial.FoodMapManager;
+import com.trophic.spatial.WorldQuery;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
-import net.minecraft.entity.ai.goal.Goal;
+import net.minecraft.entity.ai.pathing.Path;
 import net.minecraft.entity.mob.PathAwareEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.world.ServerWorld;
@@ -20,8 +24,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 
+import java.util.Arrays;
 import java.util.EnumSet;
-import java.util.Set;
 
 /**
  * AI goal for herbivores and omnivores to forage for food.
@@ -33,79 +37,68 @@ import java.util.Set;
  * 
  * This integrates with the hunger system to drive foraging behavior.
  */
-public class ForageGoal extends Goal {
-    // Grass plants are preferred - they regrow and don't destroy grass blocks
-    private static final Set<Block> PREFERRED_FOOD = Set.of(
-            Blocks.TALL_GRASS,
-            Blocks.SHORT_GRASS,
-            Blocks.FERN,
-            Blocks.LARGE_FERN
-    );
-    
-    // Grass blocks are a fallback - eating them converts to dirt
-    private static final Set<Block> FALLBACK_FOOD = Set.of(
-            Blocks.GRASS_BLOCK
-    );
-    
-    private static final Set<Block> EDIBLE_BLOCKS = Set.of(
-            Blocks.GRASS_BLOCK,
-            Blocks.TALL_GRASS,
-            Blocks.SHORT_GRASS,
-            Blocks.FERN,
-            Blocks.LARGE_FERN
-    );
-    
-    
+public class ForageGoal extends TrophicGoal {
     private final PathAwareEntity entity;
     private final double speed;
     
     private BlockPos targetPos;
     private int forageTimer;
-    private int searchCooldown;
+    // Back-off after a failed search, expired by the world's timing wheel
+    private TimingWheel.Timeout searchCooldown;
+    private Path foodPath;
+    private PathScheduler.Request pathRequest;
+    
+    // Nearest food candidates per type and across types, reused between
+    // searches; each request gets its own copy of the used prefix
+    private long[] candidates = new long[0];
+    private long[] targets = new long[0];
 
     public ForageGoal(PathAwareEntity entity, double speed) {
+        super(entity, Trigger.HUNGER);
         this.entity = entity;
         this.speed = speed;
         this.setControls(EnumSet.of(Control.MOVE, Control.LOOK));
     }
 
     @Override
-    public boolean canStart() {
-        if (searchCooldown > 0) {
-            searchCooldown--;
+    protected boolean canStartGoal() {
+        if (searchCooldown != null && searchCooldown.isPending()) {
+            sleep(searchCooldown.getDeadline() - entity.getEntityWorld().getTime());
             return false;
         }
         
         // Check if entity can forage (herbivore or omnivore)
-        Identifier entityId = Registries.ENTITY_TYPE.getId(entity.getType());
-        SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition species = registry.getSpecies(entityId).orElse(null);
-        
-        if (species != null && species.getDiet() != null) {
-            if (!species.getDiet().type().canForage()) {
-                return false;
-            }
+        ResolvedSpecies species = Trophic.getInstance().getSpeciesRegistry().resolve(entity);
+        if (species != null && !species.canForage()) {
+            sleep(Long.MAX_VALUE);
+            return false;
         }
         
-        // Only forage when hungry
+        // Only forage when hungry; sleep until hunger decays that far
         if (entity instanceof EcologicalEntity eco) {
             if (!eco.trophic_isHungry()) {
+                foodPath = null;
+                sleep(eco.trophic_getTicksUntilHunger(TrophicConfig.get().hunger.hungryThreshold));
                 return false;
             }
         }
         
-        // Find food source
-        targetPos = findFoodSource();
-        if (targetPos == null) {
-            searchCooldown = TrophicConfig.get().forage.searchCooldown;
+        // A queued search found reachable food
+        if (foodPath != null) {
+            return true;
+        }
+        
+        // Still waiting on the path scheduler
+        if (pathRequest != null && !pathRequest.isDone()) {
             return false;
         }
         
-        return true;
+        requestFoodSearch();
+        return false;
     }
 
     @Override
-    public boolean shouldContinue() {
+    protected boolean shouldContinueGoal() {
         if (targetPos == null) {
             return false;
         }
@@ -117,24 +110,31 @@ public class ForageGoal extends Goal {
             }
         }
         
-        // Check if target is still valid
-        BlockState state = entity.getEntityWorld().getBlockState(targetPos);
-        return EDIBLE_BLOCKS.contains(state.getBlock());
+        // Check if target is still valid (an unloaded target is given up)
+        BlockState state = WorldQuery.getBlockState(entity.getEntityWorld(), targetPos);
+        return state != null && FoodMap.isEdible(state);
     }
 
     @Override
     public void start() {
         forageTimer = 0;
+        if (foodPath != null) {
+            entity.getNavigation().startMovingAlong(foodPath, speed);
+            foodPath = null;
+        }
     }
 
     @Override
     public void stop() {
         targetPos = null;
+        foodPath = null;
         forageTimer = 0;
+        Trophic.getInstance().getPathScheduler().cancel(pathRequest);
+        pathRequest = null;
     }
 
     @Override
-    public void tick() {
+    protected void tickGoal() {
         if (targetPos == null) {
             return;
         }
@@ -146,13 +146,11 @@ public class ForageGoal extends Goal {
         );
         
         if (distanceSq > TrophicConfig.get().forage.eatDistanceSq) {
-            // Move toward food
-            entity.getNavigation().startMovingTo(
-                    targetPos.getX() + 0.5,
-                    targetPos.getY(),
-                    targetPos.getZ() + 0.5,
-                    speed
-            );
+            // Move toward food, re-pathing if the navigation gave up
+            if (entity.getNavigation().isIdle() && (pathRequest == null || pathRequest.isDone())) {
+                pathRequest = Trophic.getInstance().getPathScheduler().request(
+                        entity, PathScheduler.Priority.FORAGE, targetPos, 1, this::onApproachPath);
+            }
         } else {
             // Close enough - start eating
             entity.getNavigation().stop();
@@ -170,47 +168,61 @@ public class ForageGoal extends Goal {
         }
     }
 
-    private BlockPos findFoodSource() {
-        World world = entity.getEntityWorld();
+    /**
+     * Queues a path search over the nearest food, preferred plants first and
+     * grass blocks after. At most {@code maxPathAttempts} candidates of each
+     * type are tried.
+     */
+    private void requestFoodSearch() {
+        FoodMap foodMap = FoodMapManager.of(entity);
+        if (foodMap == null) {
+            return;
+        }
+        
+        TrophicConfig.ForageConfig config = TrophicConfig.get().forage;
+        int maxAttempts = Math.max(1, config.maxPathAttempts);
+        if (candidates.length != maxAttempts) {
+            candidates = new long[maxAttempts];
+            targets = new long[maxAttempts * FoodMap.FoodType.values().length];
+        }
+        
         BlockPos entityPos = entity.getBlockPos();
+        int count = 0;
+        for (FoodMap.FoodType type : FoodMap.FoodType.values()) {
+            int found = foodMap.findNearest(entityPos, config.searchRange, config.verticalSearchRange, type, candidates);
+            System.arraycopy(candidates, 0, targets, count, found);
+            count += found;
+        }
         
-        // First pass: look for preferred grass plants
-        BlockPos preferredPos = findFoodOfType(world, entityPos, PREFERRED_FOOD);
-        if (preferredPos != null) {
-            return preferredPos;
+        if (count == 0) {
+            startSearchCooldown();
+            return;
         }
         
-        // Second pass: fall back to grass blocks if no plants found
-        return findFoodOfType(world, entityPos, FALLBACK_FOOD);
+        pathRequest = Trophic.getInstance().getPathScheduler().request(
+                entity, PathScheduler.Priority.FORAGE, Arrays.copyOf(targets, count), 1, this::onFoodPath);
     }
     
-    private BlockPos findFoodOfType(World world, BlockPos entityPos, Set<Block> validBlocks) {
-        BlockPos bestPos = null;
-        double bestDistanceSq = Double.MAX_VALUE;
-        int searchRange = TrophicConfig.get().forage.searchRange;
-        
-        int verticalRange = TrophicConfig.get().forage.verticalSearchRange;
-        for (int x = -searchRange; x <= searchRange; x++) {
-            for (int z = -searchRange; z <= searchRange; z++) {
-                for (int y = -verticalRange; y <= verticalRange; y++) {
-                    BlockPos pos = entityPos.add(x, y, z);
-                    BlockState state = world.getBlockState(pos);
-                    
-                    if (validBlocks.contains(state.getBlock())) {
-                        double distanceSq = entityPos.getSquaredDistance(pos);
-                        if (distanceSq < bestDistanceSq) {
-                            // Check if we can path there
-                            if (entity.getNavigation().findPathTo(pos, 1) != null) {
-                                bestDistanceSq = distanceSq;
-                                bestPos = pos;
-                            }
-                        }
-                    }
-                }
-            }
+    private void onFoodPath(PathScheduler.Status status, Path path, int targetIndex) {
+        if (status == PathScheduler.Status.FOUND) {
+            targetPos = pathRequest.getTarget(targetIndex);
+            foodPath = path;
+        } else if (status == PathScheduler.Status.FAILED) {
+            startSearchCooldown();
+        }
+    }
+    
+    private void startSearchCooldown() {
+        searchCooldown = TimingWheelManager.after(entity, TrophicConfig.get().forage.searchCooldown, () -> {});
+    }
+    
+    private void onApproachPath(PathScheduler.Status status, Path path, int targetIndex) {
+        if (status == PathScheduler.Status.FOUND) {
+            entity.getNavigation().startMovingAlong(path, speed);
+        } else if (status == PathScheduler.Status.FAILED) {
+            // Food became unreachable - end this goal and search again
+            targetPos = null;
         }
-        
-        return bestPos;
     }
 
     private void consumeFood() {
@@ -219,9 +231,9 @@ public class ForageGoal extends Goal {
         }
         
         World world = entity.getEntityWorld();
-        BlockState state = world.getBlockState(targetPos);
+        BlockState state = WorldQuery.getBlockState(world, targetPos);
         
-        if (!EDIBLE_BLOCKS.contains(state.getBlock())) {
+        if (state == null || !FoodMap.isEdible(state)) {
             targetPos = null;
             return;
         }
@@ -5,10 +5,13 @@ import com.trophic.behavior.EcologicalEntity;
 import com.trophic.behavior.ai.PreyScanner;
 import com.trophic.ecosystem.EcosystemManager;
 import com.trophic.ecosystem.RegionEcosystem;
+import com.trophic.pathing.PathScheduler;
+import com.trophic.registry.ResolvedSpecies;
 import com.trophic.registry.SpeciesDefinition;
-import com.trophic.registry.SpeciesRegistry;
+import com.trophic.spatial.SpatialIndex;
+import com.trophic.spatial.SpatialIndexManager;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.ai.goal.Goal;
+import net.minecraft.entity.ai.pathing.Path;
 import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.entity.mob.PathAwareEntity;
 import net.minecraft.entity.passive.AnimalEntity;
@@ -17,6 +20,7 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.ChunkPos;
 
+import java.util.BitSet;
 import java.util.EnumSet;
 
 import com.trophic.config.TrophicConfig;
@@ -32,7 +36,7 @@ import net.minecraft.util.math.Vec3d;
  * 
  * Includes target commitment to prevent oscillation between prey pockets.
  */
-public class HuntPreyGoal extends Goal {
+public class HuntPreyGoal extends TrophicGoal {
     private final PathAwareEntity predator;
     private final double searchRange;
     private final double chaseSpeed;
@@ -41,11 +45,15 @@ public class HuntPreyGoal extends Goal {
     private LivingEntity targetPrey;
     private int huntTimer;
     private HuntPhase phase;
+    private PathScheduler.Request pathRequest;
     
     // Target commitment - prevents oscillating between different prey groups
     private Vec3d committedDirection;
     private int commitmentTimer;
     
+    // Diet of the in-progress prey search, read by the index scorer
+    private SpeciesDefinition.Diet currentDiet;
+    
     public enum HuntPhase {
         SEARCHING,
         STALKING,
@@ -59,6 +67,7 @@ public class HuntPreyGoal extends Goal {
     }
 
     public HuntPreyGoal(PathAwareEntity predator, double chaseSpeed, double stalkSpeed, double searchRange) {
+        super(predator, Trigger.HUNGER);
         this.predator = predator;
         this.chaseSpeed = chaseSpeed;
         this.stalkSpeed = stalkSpeed;
@@ -69,7 +78,7 @@ public class HuntPreyGoal extends Goal {
     }
 
     @Override
-    public boolean canStart() {
+    protected boolean canStartGoal() {
         // Decrement commitment timer
         if (commitmentTimer > 0) {
             commitmentTimer--;
@@ -77,83 +86,96 @@ public class HuntPreyGoal extends Goal {
             committedDirection = null;
         }
         
-        // Check if predator is hungry enough to hunt
+        // Check if predator is hungry enough to hunt; sleep until the
+        // cooldown ends and hunger has decayed that far
         if (predator instanceof EcologicalEntity eco) {
             if (!eco.trophic_canHunt()) {
+                long untilHungry = eco.trophic_getTicksUntilHunger(TrophicConfig.get().hunger.hungryThreshold);
+                sleepIdle(Math.max(eco.trophic_getHuntCooldown(), untilHungry));
                 return false;
             }
         }
         
         // Check if this entity is a registered predator
-        Identifier predatorId = Registries.ENTITY_TYPE.getId(predator.getType());
-        SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition species = registry.getSpecies(predatorId).orElse(null);
-        
-        if (species == null || species.getDiet() == null || !species.getDiet().type().canHunt()) {
+        ResolvedSpecies species = Trophic.getInstance().getSpeciesRegistry().resolve(predator);
+        if (species == null || !species.canHunt()) {
+            sleepIdle(Long.MAX_VALUE);
             return false;
         }
         
         // Try to find prey, preferring targets in committed direction
-        targetPrey = findPreyWithCommitment(species.getDiet());
+        targetPrey = findPreyWithCommitment(species);
         return targetPrey != null;
     }
     
+    /**
+     * Sleeps, dropping any directional commitment; it would be stale on waking.
+     */
+    private void sleepIdle(long ticks) {
+        commitmentTimer = 0;
+        committedDirection = null;
+        sleep(ticks);
+    }
+    
     /**
      * Finds prey while considering directional commitment to prevent oscillation.
      */
-    private LivingEntity findPreyWithCommitment(SpeciesDefinition.Diet diet) {
-        // Get all potential prey
-        var searchBox = predator.getBoundingBox().expand(searchRange);
-        var potentialPrey = predator.getEntityWorld().getEntitiesByClass(
-                LivingEntity.class,
-                searchBox,
-                entity -> PreyScanner.isValidPrey(entity, predator, diet)
-        );
-        
-        if (potentialPrey.isEmpty()) {
+    private LivingEntity findPreyWithCommitment(ResolvedSpecies species) {
+        SpatialIndex index = SpatialIndexManager.of(predator);
+        BitSet preyMask = species.getPreyMask();
+        if (index == null || preyMask.isEmpty()) {
             return null;
         }
         
-        Vec3d predatorPos = new Vec3d(predator.getX(), predator.getY(), predator.getZ());
+        // Score prey in range; line of sight is only checked for improving candidates
+        currentDiet = species.getDefinition().getDiet();
+        MobEntity best = index.findBest(
+                predator.getX(), predator.getY(), predator.getZ(), searchRange, preyMask,
+                this, HuntPreyGoal::scoreWithCommitment, HuntPreyGoal::canSeeTarget);
+        currentDiet = null;
+        return best;
+    }
+    
+    /**
+     * Scores a candidate, applying directional preference if we have a commitment.
+     */
+    private static double scoreWithCommitment(HuntPreyGoal goal, MobEntity prey, double distanceSq) {
+        if (!PreyScanner.isEligiblePrey(prey)) {
+            return Double.POSITIVE_INFINITY;
+        }
         
-        // Score and select best prey
-        LivingEntity best = null;
-        double bestScore = Double.MAX_VALUE;
+        PathAwareEntity predator = goal.predator;
+        double baseScore = PreyScanner.scorePreyTarget(predator, prey, goal.currentDiet);
         
-        for (LivingEntity prey : potentialPrey) {
-            double baseScore = PreyScanner.scorePreyTarget(predator, prey, diet);
+        // Apply directional preference if we have a commitment
+        if (goal.committedDirection != null) {
+            Vec3d toTarget = new Vec3d(
+                    prey.getX() - predator.getX(),
+                    0,
+                    prey.getZ() - predator.getZ()
+            ).normalize();
             
-            // Apply directional preference if we have a commitment
-            if (committedDirection != null) {
-                Vec3d toTarget = new Vec3d(
-                        prey.getX() - predator.getX(),
-                        0,
-                        prey.getZ() - predator.getZ()
-                ).normalize();
-                
-                // Dot product: 1.0 = same direction, -1.0 = opposite
-                double alignment = committedDirection.dotProduct(toTarget);
-                
-                // Penalize targets in opposite direction
-                TrophicConfig.HuntConfig huntConfig = TrophicConfig.get().hunt;
-                if (alignment < 0) {
-                    baseScore *= (1.0 + Math.abs(alignment) * huntConfig.oppositeDirectionPenalty);
-                } else {
-                    baseScore *= (1.0 - alignment * huntConfig.directionPreference);
-                }
-            }
+            // Dot product: 1.0 = same direction, -1.0 = opposite
+            double alignment = goal.committedDirection.dotProduct(toTarget);
             
-            if (baseScore < bestScore) {
-                bestScore = baseScore;
-                best = prey;
+            // Penalize targets in opposite direction
+            TrophicConfig.HuntConfig huntConfig = TrophicConfig.get().hunt;
+            if (alignment < 0) {
+                baseScore *= (1.0 + Math.abs(alignment) * huntConfig.oppositeDirectionPenalty);
+            } else {
+                baseScore *= (1.0 - alignment * huntConfig.directionPreference);
             }
         }
         
-        return best;
+        return baseScore;
+    }
+    
+    private static boolean canSeeTarget(HuntPreyGoal goal, MobEntity prey) {
+        return PreyScanner.canSeePrey(goal.predator, prey);
     }
 
     @Override
-    public boolean shouldContinue() {
+    protected boolean shouldContinueGoal() {
         if (targetPrey == null || !targetPrey.isAlive()) {
             return false;
         }
@@ -195,11 +217,13 @@ public class HuntPreyGoal extends Goal {
         // This prevents oscillating back to a different prey group
         targetPrey = null;
         phase = HuntPhase.SEARCHING;
+        Trophic.getInstance().getPathScheduler().cancel(pathRequest);
+        pathRequest = null;
         predator.getNavigation().stop();
     }
 
     @Override
-    public void tick() {
+    protected void tickGoal() {
         huntTimer++;
         
         if (targetPrey == null || !targetPrey.isAlive()) {
@@ -221,7 +245,7 @@ public class HuntPreyGoal extends Goal {
     private void tickStalking(double distanceSq) {
         // Move slowly toward prey
         if (huntTimer % TrophicConfig.get().hunt.recalculatePathInterval == 0) {
-            predator.getNavigation().startMovingTo(targetPrey, stalkSpeed);
+            requestChasePath();
         }
         
         // Transition to chasing if prey notices us or we're close enough
@@ -242,7 +266,7 @@ public class HuntPreyGoal extends Goal {
     private void tickChasing(double distanceSq) {
         // Chase at full speed
         if (huntTimer % (TrophicConfig.get().hunt.recalculatePathInterval / 2) == 0) {
-            predator.getNavigation().startMovingTo(targetPrey, chaseSpeed);
+            requestChasePath();
         }
         
         // Check for successful catch
@@ -251,6 +275,22 @@ public class HuntPreyGoal extends Goal {
         }
     }
 
+    /**
+     * Queues a path to the prey's current position.
+     */
+    private void requestChasePath() {
+        pathRequest = Trophic.getInstance().getPathScheduler().request(
+                predator, PathScheduler.Priority.HUNT, targetPrey.getBlockPos(), 1, this::onChasePath);
+    }
+    
+    private void onChasePath(PathScheduler.Status status, Path path, int targetIndex) {
+        if (status != PathScheduler.Status.FOUND || targetPrey == null) {
+            return;
+        }
+        double speed = phase == HuntPhase.CHASING ? chaseSpeed : stalkSpeed;
+        predator.getNavigation().startMovingAlong(path, speed);
+    }
+
     private void attemptKill() {
         if (targetPrey == null || !targetPrey.isAlive()) {
             return;
@@ -2,11 +2,17 @@ package com.trophic.behavior.goals;
 
 import com.trophic.Trophic;
 import com.trophic.behavior.EcologicalEntity;
+import com.trophic.behavior.ai.PackCoordinator;
 import com.trophic.config.TrophicConfig;
+import com.trophic.pathing.ChunkGraph;
+import com.trophic.pathing.ChunkGraphManager;
+import com.trophic.pathing.PathScheduler;
+import com.trophic.simulation.MigrationDispatcher;
 import com.trophic.simulation.MigrationPlanner;
 import com.trophic.simulation.MigrationPlanner.MigrationTarget;
 import com.trophic.simulation.SeasonalEffects;
-import net.minecraft.entity.ai.goal.Goal;
+import com.trophic.spatial.WorldQuery;
+import net.minecraft.entity.ai.pathing.Path;
 import net.minecraft.entity.passive.AnimalEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.world.ServerWorld;
@@ -16,6 +22,7 @@ import net.minecraft.util.math.Vec3d;
 
 import java.util.EnumSet;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * AI goal for animals to migrate to more suitable habitats.
@@ -25,10 +32,19 @@ import java.util.Optional;
  * - Food scarcity
  * - Population pressure
  * 
+ * The route is planned over the coarse {@link ChunkGraph} and followed as a
+ * chain of short segments: only the path to the next chunk portal is
+ * computed, and a new one is requested when the segment is finished, its
+ * path fails, or the animal gets stuck.
+ * 
+ * Migration is decided once per {@link PackCoordinator} pack: the leader
+ * plans the target and the route, and followers hold a formation slot around
+ * the leader, steering locally and only pathfinding when they fall behind.
+ * 
  * Upon successful migration, the animal's home position is updated
  * to the new location.
  */
-public class MigrationGoal extends Goal {
+public class MigrationGoal extends TrophicGoal {
     private final AnimalEntity animal;
     private final double speed;
     
@@ -36,8 +52,32 @@ public class MigrationGoal extends Goal {
     private int migrationTimer;
     private int stuckTimer;
     private Vec3d lastPosition;
+    private PathScheduler.Request pathRequest;
+    private BlockPos waypoint;
+    private boolean needsSegment;
+    private int segmentFailures;
+    private int pathAttempts;
+    private double moveSpeed;
+    
+    // Follower state; a leader's leaderId is its own UUID
+    private UUID leaderId;
+    private boolean following;
+    private boolean leaderLost;
+    private int followTimer;
+    private double slotDistanceSq;
+    
+    // Counters across all migrating animals
+    private static int activeMigrations;
+    private static long totalMigrations;
+    private static long totalSegments;
+    private static long totalPathAttempts;
+    
+    // Followers spiral out from the leader in this many slots
+    private static final int FORMATION_SLOTS = 16;
+    private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5));
 
     public MigrationGoal(AnimalEntity animal, double speed) {
+        super(animal, Trigger.MIGRATION, Trigger.PACK);
         this.animal = animal;
         this.speed = speed;
         
@@ -45,7 +85,7 @@ public class MigrationGoal extends Goal {
     }
 
     @Override
-    public boolean canStart() {
+    protected boolean canStartGoal() {
         if (!(animal.getEntityWorld() instanceof ServerWorld serverWorld)) {
             return false;
         }
@@ -54,10 +94,38 @@ public class MigrationGoal extends Goal {
         Identifier speciesId = Registries.ENTITY_TYPE.getId(animal.getType());
         double migrationUrge = SeasonalEffects.getMigrationUrge(speciesId);
         
-        // Only migrate if urge is high and random chance
         TrophicConfig.MigrationConfig migrationConfig = TrophicConfig.get().migration;
-        if (migrationUrge < migrationConfig.migrationUrgeThreshold || 
-            animal.getRandom().nextFloat() > migrationConfig.migrationChance) {
+        if (migrationUrge < migrationConfig.migrationUrgeThreshold) {
+            // The urge follows the season, which changes slowly
+            sleep(TrophicConfig.get().scheduler.goalRecheckInterval);
+            return false;
+        }
+        
+        // Followers join their leader's migration instead of planning their own
+        UUID packLeader = PackCoordinator.getOrAssignPack(animal);
+        if (!packLeader.equals(animal.getUuid())) {
+            MigrationTarget packTarget = MigrationPlanner.getPackMigration(packLeader);
+            if (packTarget == null) {
+                // Woken when a migration starts or the pack changes
+                sleep(Long.MAX_VALUE);
+                return false;
+            }
+            leaderId = packLeader;
+            following = true;
+            target = packTarget;
+            return true;
+        }
+        
+        // Only the leader rolls the random chance, then waits its turn with
+        // the dispatcher; a queued leader keeps its place without re-rolling
+        MigrationDispatcher dispatcher = Trophic.getInstance().getMigrationDispatcher();
+        boolean queued = dispatcher.isQueued(serverWorld, packLeader);
+        if (!queued && animal.getRandom().nextFloat() > migrationConfig.migrationChance) {
+            return false;
+        }
+        
+        double unsuitability = queued ? 0.0 : 1.0 - currentSuitability(serverWorld, speciesId);
+        if (!dispatcher.requestDeparture(serverWorld, packLeader, unsuitability)) {
             return false;
         }
         
@@ -66,16 +134,22 @@ public class MigrationGoal extends Goal {
                 serverWorld, speciesId, animal.getBlockPos()
         );
         
-        if (plannedTarget.isEmpty()) {
+        if (plannedTarget.isEmpty()
+                || plannedTarget.get().suitabilityScore() <= migrationConfig.suitabilityThreshold) {
+            // The ticket is spent; queue again rather than re-rolling the chance.
+            // No sleep: a queued leader has to keep asking to hold its place
+            dispatcher.requeue(serverWorld, packLeader, 1.0 - currentSuitability(serverWorld, speciesId));
             return false;
         }
         
+        leaderId = packLeader;
+        following = false;
         target = plannedTarget.get();
-        return target.suitabilityScore() > TrophicConfig.get().migration.suitabilityThreshold;
+        return true;
     }
 
     @Override
-    public boolean shouldContinue() {
+    protected boolean shouldContinueGoal() {
         if (target == null) {
             return false;
         }
@@ -89,6 +163,16 @@ public class MigrationGoal extends Goal {
             return false;
         }
         
+        // Give up on a route that keeps failing
+        if (segmentFailures >= TrophicConfig.get().migration.maxSegmentFailures) {
+            return false;
+        }
+        
+        if (following) {
+            // Keep up with the pack until the leader ends the migration
+            return !leaderLost && MigrationPlanner.getPackMigration(leaderId) == target;
+        }
+        
         // Check if arrived
         double distanceSq = animal.squaredDistanceTo(
                 target.destination().getX() + 0.5,
@@ -103,17 +187,45 @@ public class MigrationGoal extends Goal {
     public void start() {
         migrationTimer = 0;
         stuckTimer = 0;
+        segmentFailures = 0;
+        pathAttempts = 0;
         lastPosition = new Vec3d(animal.getX(), animal.getY(), animal.getZ());
+        activeMigrations++;
         
-        Trophic.LOGGER.info("{} starting migration to {} (reason: {})",
+        if (following) {
+            leaderLost = false;
+            slotDistanceSq = 0;
+            followTimer = TrophicConfig.get().migration.followUpdateTicks - 1;
+            moveSpeed = speed;
+            return;
+        }
+        
+        // Slow down a little so followers can keep up
+        moveSpeed = PackCoordinator.getPackSize(animal) > 1
+                ? speed * TrophicConfig.get().migration.leaderSpeedFactor : speed;
+        totalMigrations++;
+        MigrationPlanner.startPackMigration(leaderId, target, animal.getEntityWorld().getTime());
+        if (animal.getEntityWorld() instanceof ServerWorld serverWorld) {
+            Trophic.getInstance().getMigrationDispatcher().onDeparture(serverWorld, leaderId);
+        }
+        requestSegment();
+        
+        Trophic.LOGGER.info("{} starting migration to {} (reason: {}, pack of {})",
                 Registries.ENTITY_TYPE.getId(animal.getType()),
                 target.destination(),
-                target.reason());
+                target.reason(),
+                PackCoordinator.getPackSize(animal));
     }
 
     @Override
     public void stop() {
-        if (target != null) {
+        if (target != null && following) {
+            // The pack arrived together; settle where this follower stands
+            if (isNearDestination(formationRadius()) && animal instanceof EcologicalEntity eco) {
+                eco.trophic_setHomePos(animal.getBlockPos());
+            }
+            activeMigrations--;
+        } else if (target != null) {
             double distanceSq = animal.squaredDistanceTo(
                     target.destination().getX() + 0.5,
                     target.destination().getY(),
@@ -132,30 +244,35 @@ public class MigrationGoal extends Goal {
                             Registries.ENTITY_TYPE.getId(animal.getType()));
                 }
             } else {
-                Trophic.LOGGER.info("{} abandoned migration",
-                        Registries.ENTITY_TYPE.getId(animal.getType()));
+                Trophic.LOGGER.info("{} abandoned migration after {} path attempts",
+                        Registries.ENTITY_TYPE.getId(animal.getType()), pathAttempts);
             }
+            MigrationPlanner.endPackMigration(leaderId);
+            if (animal.getEntityWorld() instanceof ServerWorld serverWorld) {
+                Trophic.getInstance().getMigrationDispatcher().onMigrationEnded(serverWorld, leaderId);
+            }
+            activeMigrations--;
         }
         
         target = null;
+        leaderId = null;
+        following = false;
+        waypoint = null;
+        needsSegment = false;
+        Trophic.getInstance().getPathScheduler().cancel(pathRequest);
+        pathRequest = null;
         animal.getNavigation().stop();
     }
 
     @Override
-    public void tick() {
+    protected void tickGoal() {
         migrationTimer++;
         
         if (target == null) {
             return;
         }
         
-        // Navigate toward target
-        animal.getNavigation().startMovingTo(
-                target.destination().getX() + 0.5,
-                target.destination().getY(),
-                target.destination().getZ() + 0.5,
-                speed
-        );
+        TrophicConfig.MigrationConfig config = TrophicConfig.get().migration;
         
         // Check if stuck
         Vec3d currentPos = new Vec3d(animal.getX(), animal.getY(), animal.getZ());
@@ -166,64 +283,231 @@ public class MigrationGoal extends Goal {
         }
         lastPosition = currentPos;
         
-        // Periodically recalculate path
-        if (migrationTimer % TrophicConfig.get().migration.checkInterval == 0) {
-            // Recalculate if path is blocked
-            if (!animal.getNavigation().isFollowingPath()) {
-                // Try to find intermediate waypoint
-                BlockPos intermediate = findIntermediateWaypoint();
-                if (intermediate != null) {
-                    animal.getNavigation().startMovingTo(
-                            intermediate.getX() + 0.5,
-                            intermediate.getY(),
-                            intermediate.getZ() + 0.5,
-                            speed
-                    );
-                }
+        if (following) {
+            // Waiting in formation while the leader waits is not being stuck
+            if (slotDistanceSq < 4 * config.formationSpacing * config.formationSpacing) {
+                stuckTimer = 0;
             }
+            tickFollower(config);
+            return;
+        }
+        
+        boolean waiting = pathRequest != null && !pathRequest.isDone();
+        if (waiting) {
+            return;
+        }
+        
+        if (needsSegment) {
+            // Previous path failed - try again from here
+            requestSegment();
+        } else if (animal.getNavigation().isIdle()) {
+            // Segment finished (or ended short) - move on to the next one
+            requestSegment();
+        } else if (stuckTimer > 0 && stuckTimer % config.stuckRepathTicks == 0) {
+            // Following a path but not moving
+            requestSegment();
         }
     }
-
+    
     /**
-     * Finds an intermediate waypoint toward the migration target.
+     * @return how well the animal's current position suits its species
      */
-    private BlockPos findIntermediateWaypoint() {
-        if (target == null) {
-            return null;
+    private double currentSuitability(ServerWorld world, Identifier speciesId) {
+        return Trophic.getInstance().getSpeciesRegistry().getSpecies(speciesId)
+                .map(species -> MigrationPlanner.calculateHabitatSuitability(world, species, animal.getBlockPos()))
+                .orElse(0.5);
+    }
+    
+    /**
+     * Moves a follower toward its formation slot around the leader. Nearby
+     * slots are reached by steering straight at them; a follower that has
+     * fallen behind requests a path instead.
+     */
+    private void tickFollower(TrophicConfig.MigrationConfig config) {
+        if (++followTimer < config.followUpdateTicks) {
+            return;
+        }
+        followTimer = 0;
+        
+        AnimalEntity leader = PackCoordinator.getPackLeader(animal);
+        if (leader == animal) {
+            leaderLost = true;
+            return;
+        }
+        
+        Vec3d slot = formationSlot(leader, config.formationSpacing);
+        slotDistanceSq = animal.squaredDistanceTo(slot);
+        
+        if (slotDistanceSq > config.followPathDistance * config.followPathDistance) {
+            if (pathRequest == null || pathRequest.isDone()) {
+                pathAttempts++;
+                totalPathAttempts++;
+                pathRequest = Trophic.getInstance().getPathScheduler().request(
+                        animal, PathScheduler.Priority.ROUTINE, BlockPos.ofFloored(slot), 1, this::onPath);
+            }
+        } else if (slotDistanceSq > config.formationSpacing * config.formationSpacing) {
+            animal.getNavigation().stop();
+            animal.getMoveControl().moveTo(slot.x, slot.y, slot.z, moveSpeed);
+        }
+    }
+    
+    /**
+     * Gets this follower's slot: a sunflower spiral around the leader, with
+     * the slot picked from the UUID so it stays stable between updates.
+     */
+    private Vec3d formationSlot(AnimalEntity leader, double spacing) {
+        int slot = Math.floorMod(animal.getUuid().hashCode(), FORMATION_SLOTS) + 1;
+        double angle = slot * GOLDEN_ANGLE;
+        double radius = spacing * Math.sqrt(slot);
+        return new Vec3d(
+                leader.getX() + Math.cos(angle) * radius,
+                leader.getY(),
+                leader.getZ() + Math.sin(angle) * radius
+        );
+    }
+    
+    /**
+     * @return the distance of the outermost formation slot from the leader
+     */
+    private static double formationRadius() {
+        return TrophicConfig.get().migration.formationSpacing * Math.sqrt(FORMATION_SLOTS);
+    }
+    
+    private boolean isNearDestination(double slack) {
+        double distance = Math.sqrt(TrophicConfig.get().migration.arrivedDistanceSq) + slack;
+        return animal.squaredDistanceTo(
+                target.destination().getX() + 0.5,
+                target.destination().getY(),
+                target.destination().getZ() + 0.5
+        ) < distance * distance;
+    }
+    
+    /**
+     * Picks the next waypoint and queues a path to it. After failures the
+     * waypoint is swung to alternating sides to route around obstacles.
+     */
+    private void requestSegment() {
+        needsSegment = false;
+        waypoint = findIntermediateWaypoint(segmentFailures);
+        pathAttempts++;
+        totalPathAttempts++;
+        
+        pathRequest = Trophic.getInstance().getPathScheduler().request(
+                animal, PathScheduler.Priority.ROUTINE, waypoint, 1, this::onPath);
+    }
+    
+    private void onPath(PathScheduler.Status status, Path path, int targetIndex) {
+        switch (status) {
+            case FOUND -> {
+                segmentFailures = 0;
+                totalSegments++;
+                animal.getNavigation().startMovingAlong(path, moveSpeed);
+            }
+            case FAILED, EXPIRED -> {
+                segmentFailures++;
+                needsSegment = true;
+            }
+            case SUPERSEDED -> {
+                // Another goal took over pathing; the next idle tick resumes
+            }
         }
+    }
+
+    /**
+     * Finds the next waypoint toward the migration target: the next portal on
+     * the chunk graph route, or a point straight ahead when the graph has no
+     * route or the portal's path has failed.
+     * 
+     * @param detour number of failed attempts; each one swings the heading
+     *               further to alternating sides
+     */
+    private BlockPos findIntermediateWaypoint(int detour) {
+        BlockPos destination = target.destination();
         
         // Calculate direction to target
-        double dx = target.destination().getX() - animal.getX();
-        double dz = target.destination().getZ() - animal.getZ();
+        double dx = destination.getX() - animal.getX();
+        double dz = destination.getZ() - animal.getZ();
         double distance = Math.sqrt(dx * dx + dz * dz);
         
         if (distance < TrophicConfig.get().migration.closeEnoughDistance) {
-            return target.destination();
+            return destination;
+        }
+        
+        if (detour == 0) {
+            ChunkGraph graph = ChunkGraphManager.of(animal);
+            BlockPos portal = graph != null ? graph.nextWaypoint(animal.getBlockPos(), destination) : null;
+            if (portal != null) {
+                return portal;
+            }
+        }
+        
+        double angle = Math.atan2(dz, dx);
+        if (detour > 0) {
+            double swing = Math.PI / 4 * ((detour + 1) / 2);
+            angle += (detour % 2 == 1) ? swing : -swing;
         }
         
         // Try to find a reachable point in the general direction
         int waypointDist = TrophicConfig.get().migration.waypointDistance;
-        dx = dx / distance * waypointDist;
-        dz = dz / distance * waypointDist;
-        
-        BlockPos candidate = new BlockPos(
-                (int)(animal.getX() + dx),
-                (int)animal.getY(),
-                (int)(animal.getZ() + dz)
+        BlockPos candidate = BlockPos.ofFloored(
+                animal.getX() + Math.cos(angle) * waypointDist,
+                animal.getY(),
+                animal.getZ() + Math.sin(angle) * waypointDist
         );
         
-        // Find valid ground position
-        if (animal.getEntityWorld() instanceof ServerWorld world) {
-            int groundSearch = TrophicConfig.get().migration.groundSearchRange;
-            for (int dy = groundSearch; dy >= -groundSearch; dy--) {
-                BlockPos checkPos = candidate.add(0, dy, 0);
-                if (world.getBlockState(checkPos).isAir() &&
-                    !world.getBlockState(checkPos.down()).isAir()) {
-                    return checkPos;
-                }
-            }
-        }
-        
-        return null;
+        // Find valid ground position; if the chunk is not loaded, aim at
+        // the animal's height and let pathfinding get as close as it can
+        int groundSearch = TrophicConfig.get().migration.groundSearchRange;
+        BlockPos ground = WorldQuery.findGround(animal.getEntityWorld(), candidate, groundSearch);
+        return ground != null ? ground : candidate;
+    }
+    
+    /**
+     * @return the number of paths requested during the current migration
+     */
+    public int getPathAttempts() {
+        return pathAttempts;
+    }
+    
+    /**
+     * @return the current waypoint, or null if not migrating
+     */
+    public BlockPos getWaypoint() {
+        return waypoint;
+    }
+    
+    /**
+     * @return true if this animal is following its pack leader's migration
+     */
+    public boolean isFollowing() {
+        return following;
+    }
+    
+    /**
+     * @return the number of animals currently migrating, leaders and followers
+     */
+    public static int getActiveMigrations() {
+        return activeMigrations;
+    }
+    
+    /**
+     * @return the number of pack migrations started since startup
+     */
+    public static long getTotalMigrations() {
+        return totalMigrations;
+    }
+    
+    /**
+     * @return the number of segment paths found since startup
+     */
+    public static long getTotalSegments() {
+        return totalSegments;
+    }
+    
+    /**
+     * @return the number of segment paths requested since startup
+     */
+    public static long getTotalPathAttempts() {
+        return totalPathAttempts;
     }
 }
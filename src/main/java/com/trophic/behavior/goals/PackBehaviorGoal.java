@@ -4,12 +4,10 @@ import com.trophic.Trophic;
 import com.trophic.behavior.EcologicalEntity;
 import com.trophic.behavior.ai.PackCoordinator;
 import com.trophic.config.TrophicConfig;
+import com.trophic.registry.ResolvedSpecies;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
-import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.passive.AnimalEntity;
-import net.minecraft.registry.Registries;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.Vec3d;
 
 import java.util.EnumSet;
@@ -20,7 +18,10 @@ import java.util.EnumSet;
  * Pack behavior is low priority - hunting and fleeing always take precedence.
  * Only activates when an animal has strayed very far from the pack.
  */
-public class PackBehaviorGoal extends Goal {
+public class PackBehaviorGoal extends TrophicGoal {
+    // Fastest two pack members can move apart, in blocks per tick
+    private static final double MAX_DRIFT_SPEED = 1.0;
+    
     private final AnimalEntity animal;
     private final double followSpeed;
     private final double maxDistanceFromPack;
@@ -33,6 +34,7 @@ public class PackBehaviorGoal extends Goal {
     }
 
     public PackBehaviorGoal(AnimalEntity animal, double followSpeed, double maxDistanceFromPack) {
+        super(animal, Trigger.HUNGER, Trigger.PACK);
         this.animal = animal;
         this.followSpeed = followSpeed;
         this.maxDistanceFromPack = maxDistanceFromPack;
@@ -41,28 +43,31 @@ public class PackBehaviorGoal extends Goal {
     }
 
     @Override
-    public boolean canStart() {
+    protected boolean canStartGoal() {
         // Don't regroup if hungry - hunting/foraging takes priority
         if (animal instanceof EcologicalEntity eco) {
             if (eco.trophic_isHungry()) {
+                sleep(Long.MAX_VALUE);
                 return false;
             }
         }
         
         // Check if this is a social species
-        Identifier entityId = Registries.ENTITY_TYPE.getId(animal.getType());
         SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition species = registry.getSpecies(entityId).orElse(null);
+        ResolvedSpecies resolved = registry.resolve(animal);
+        SpeciesDefinition species = resolved != null ? resolved.getDefinition() : null;
         
         if (species == null || species.getSocial() == null || !species.getSocial().isSocial()) {
+            sleep(Long.MAX_VALUE);
             return false;
         }
         
         // Get pack assignment
         PackCoordinator.getOrAssignPack(animal);
         
-        // If we're the leader, don't follow
+        // If we're the leader, don't follow until the pack changes
         if (PackCoordinator.isPackLeader(animal)) {
+            sleep(Long.MAX_VALUE);
             return false;
         }
         
@@ -74,11 +79,18 @@ public class PackBehaviorGoal extends Goal {
         
         TrophicConfig.PackConfig packConfig = TrophicConfig.get().pack;
         double distanceSq = animal.squaredDistanceTo(packLeader);
-        return distanceSq > packConfig.followStartDistance * packConfig.followStartDistance;
+        if (distanceSq > packConfig.followStartDistance * packConfig.followStartDistance) {
+            return true;
+        }
+        
+        // Sleep until we could have drifted out of range
+        double slack = packConfig.followStartDistance - Math.sqrt(distanceSq);
+        sleep((long) (slack / MAX_DRIFT_SPEED));
+        return false;
     }
 
     @Override
-    public boolean shouldContinue() {
+    protected boolean shouldContinueGoal() {
         if (packLeader == null || !packLeader.isAlive()) {
             return false;
         }
@@ -101,7 +113,7 @@ public class PackBehaviorGoal extends Goal {
     }
 
     @Override
-    public void tick() {
+    protected void tickGoal() {
         updateTimer++;
         
         if (packLeader == null) {
@@ -3,22 +3,20 @@ package com.trophic.behavior.goals;
 import com.trophic.Trophic;
 import com.trophic.behavior.EcologicalEntity;
 import com.trophic.config.TrophicConfig;
+import com.trophic.registry.ResolvedSpecies;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
 import com.trophic.simulation.SeasonManager;
-import net.minecraft.entity.EntityType;
-import net.minecraft.entity.ai.goal.Goal;
+import com.trophic.spatial.SpatialIndex;
+import com.trophic.spatial.SpatialIndexManager;
+import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.entity.passive.AnimalEntity;
 import net.minecraft.entity.passive.PassiveEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.util.Identifier;
-import net.minecraft.util.math.Box;
 
-import java.util.Comparator;
+import java.util.BitSet;
 import java.util.EnumSet;
-import java.util.List;
-import java.util.Set;
 
 /**
  * AI goal for seasonal breeding based on ecological conditions.
@@ -29,7 +27,7 @@ import java.util.Set;
  * - A compatible mate is nearby
  * - Population isn't at carrying capacity
  */
-public class SeasonalBreedGoal extends Goal {
+public class SeasonalBreedGoal extends TrophicGoal {
     private final AnimalEntity animal;
     private final double speed;
     
@@ -37,6 +35,7 @@ public class SeasonalBreedGoal extends Goal {
     private int breedTimer;
 
     public SeasonalBreedGoal(AnimalEntity animal, double speed) {
+        super(animal, Trigger.HUNGER);
         this.animal = animal;
         this.speed = speed;
         
@@ -44,22 +43,21 @@ public class SeasonalBreedGoal extends Goal {
     }
 
     @Override
-    public boolean canStart() {
+    protected boolean canStartGoal() {
         // Basic checks
-        if (animal.isBaby()) {
+        // Babies count up to 0 and breeding cooldowns count down to it
+        if (animal.isBaby() || animal.getBreedingAge() != 0) {
+            sleep(Math.abs(animal.getBreedingAge()));
             return false;
         }
         
-        if (animal.getBreedingAge() != 0) {
-            return false; // On cooldown from vanilla breeding
-        }
-        
         // Check species-specific breeding conditions
-        Identifier entityId = Registries.ENTITY_TYPE.getId(animal.getType());
         SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition species = registry.getSpecies(entityId).orElse(null);
+        ResolvedSpecies resolved = registry.resolve(animal);
+        SpeciesDefinition species = resolved != null ? resolved.getDefinition() : null;
         
         if (species == null || species.getReproduction() == null) {
+            sleep(Long.MAX_VALUE);
             return false;
         }
         
@@ -70,25 +68,30 @@ public class SeasonalBreedGoal extends Goal {
         if (!seasonManager.isBreedingSeason(
                 reproduction.breedingSeasonStart(), 
                 reproduction.breedingSeasonEnd())) {
+            sleep(seasonManager.getTicksUntilYearProgress(reproduction.breedingSeasonStart()));
             return false;
         }
         
-        // Check food threshold
+        // Check food threshold; hunger only rises by feeding, which wakes us
         if (animal instanceof EcologicalEntity eco) {
             if (eco.trophic_getHunger() < reproduction.foodThreshold()) {
+                sleep(Long.MAX_VALUE);
                 return false;
             }
         }
         
         // Check carrying capacity - prevent overpopulation
+        int recheck = TrophicConfig.get().scheduler.goalRecheckInterval;
         if (!isUnderCarryingCapacity(species)) {
+            sleep(recheck);
             return false;
         }
         
         // For carnivores/omnivores: check prey availability
         // Predators should only breed when prey is plentiful
-        if (species.getDiet() != null && species.getDiet().type().canHunt()) {
-            if (!hasAdequatePrey(species, registry)) {
+        if (resolved.canHunt()) {
+            if (!hasAdequatePrey(resolved)) {
+                sleep(recheck);
                 return false;
             }
         }
@@ -99,7 +102,7 @@ public class SeasonalBreedGoal extends Goal {
     }
 
     @Override
-    public boolean shouldContinue() {
+    protected boolean shouldContinueGoal() {
         if (mate == null || !mate.isAlive() || mate.isBaby()) {
             return false;
         }
@@ -118,7 +121,7 @@ public class SeasonalBreedGoal extends Goal {
     }
 
     @Override
-    public void tick() {
+    protected void tickGoal() {
         breedTimer++;
         
         if (mate == null) {
@@ -146,17 +149,20 @@ public class SeasonalBreedGoal extends Goal {
      * Finds a suitable mate nearby.
      */
     private AnimalEntity findMate() {
-        Box searchBox = animal.getBoundingBox().expand(TrophicConfig.get().breeding.mateSearchRange);
-        List<AnimalEntity> candidates = animal.getEntityWorld().getEntitiesByClass(
-                AnimalEntity.class,
-                searchBox,
-                other -> isValidMate(other)
-        );
+        SpatialIndex index = SpatialIndexManager.of(animal);
+        int speciesIndex = speciesIndexOf(animal);
+        if (index == null || speciesIndex < 0) {
+            return null;
+        }
         
         // Return nearest valid mate
-        return candidates.stream()
-                .min(Comparator.comparingDouble(animal::squaredDistanceTo))
-                .orElse(null);
+        MobEntity nearest = index.findBest(
+                animal.getX(), animal.getY(), animal.getZ(),
+                TrophicConfig.get().breeding.mateSearchRange, speciesIndex,
+                this,
+                (goal, other, distanceSq) -> distanceSq,
+                (goal, other) -> other instanceof AnimalEntity candidate && goal.isValidMate(candidate));
+        return (AnimalEntity) nearest;
     }
 
     /**
@@ -176,9 +182,9 @@ public class SeasonalBreedGoal extends Goal {
         }
         
         // Check other's food threshold too
-        Identifier entityId = Registries.ENTITY_TYPE.getId(animal.getType());
         SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition species = registry.getSpecies(entityId).orElse(null);
+        ResolvedSpecies resolved = registry.resolve(animal);
+        SpeciesDefinition species = resolved != null ? resolved.getDefinition() : null;
         
         if (species != null && species.getReproduction() != null) {
             if (other instanceof EcologicalEntity eco) {
@@ -195,37 +201,27 @@ public class SeasonalBreedGoal extends Goal {
      * Checks if there's adequate prey in the area for predators to breed.
      * Predators need a healthy prey population to sustain offspring.
      */
-    private boolean hasAdequatePrey(SpeciesDefinition species, SpeciesRegistry registry) {
+    private boolean hasAdequatePrey(ResolvedSpecies species) {
         // Get the prey species for this predator
-        Identifier predatorId = Registries.ENTITY_TYPE.getId(animal.getType());
-        Set<Identifier> preyIds = registry.getPreyOf(predatorId);
+        BitSet preyMask = species.getPreyMask();
         
-        if (preyIds.isEmpty()) {
+        if (preyMask.isEmpty()) {
             return true; // No prey defined, allow breeding
         }
         
+        SpatialIndex index = SpatialIndexManager.of(animal);
+        int speciesIndex = species.getIndex();
+        if (index == null) {
+            return true;
+        }
+        
         // Count prey in a large area
         TrophicConfig.BreedingConfig breedConfig = TrophicConfig.get().breeding;
-        Box searchBox = animal.getBoundingBox().expand(breedConfig.preySearchRadius);
-        int preyCount = 0;
-        
-        for (Identifier preyId : preyIds) {
-            EntityType<?> preyType = Registries.ENTITY_TYPE.get(preyId);
-            if (preyType != null) {
-                preyCount += animal.getEntityWorld().getEntitiesByType(
-                        (EntityType<? extends net.minecraft.entity.Entity>) preyType,
-                        searchBox,
-                        entity -> entity.isAlive()
-                ).size();
-            }
-        }
+        double radius = breedConfig.preySearchRadius;
+        int preyCount = index.count(animal.getX(), animal.getY(), animal.getZ(), radius, preyMask);
         
         // Count predators of the same type in the area
-        int predatorCount = animal.getEntityWorld().getEntitiesByClass(
-                animal.getClass(),
-                searchBox,
-                other -> other.isAlive() && other.getType() == animal.getType()
-        ).size();
+        int predatorCount = index.count(animal.getX(), animal.getY(), animal.getZ(), radius, speciesIndex);
         
         // Require minimum prey per predator to breed
         // This prevents predator overpopulation
@@ -233,7 +229,7 @@ public class SeasonalBreedGoal extends Goal {
         
         if (preyCount < minPreyForBreeding) {
             Trophic.LOGGER.debug("{} cannot breed: only {} prey for {} predators (need {})",
-                    predatorId, preyCount, predatorCount, minPreyForBreeding);
+                    species.getId(), preyCount, predatorCount, minPreyForBreeding);
             return false;
         }
         
@@ -258,12 +254,14 @@ public class SeasonalBreedGoal extends Goal {
         TrophicConfig.BreedingConfig breedConfig = TrophicConfig.get().breeding;
         int areaCapacity = capacityPerChunk * breedConfig.carryingCapacityChunks;
         
-        Box searchBox = animal.getBoundingBox().expand(breedConfig.preySearchRadius);
-        int currentPopulation = animal.getEntityWorld().getEntitiesByClass(
-                animal.getClass(),
-                searchBox,
-                other -> other.isAlive() && other.getType() == animal.getType()
-        ).size();
+        SpatialIndex index = SpatialIndexManager.of(animal);
+        int speciesIndex = speciesIndexOf(animal);
+        if (index == null || speciesIndex < 0) {
+            return true;
+        }
+        
+        int currentPopulation = index.count(animal.getX(), animal.getY(), animal.getZ(),
+                breedConfig.preySearchRadius, speciesIndex);
         
         if (currentPopulation >= areaCapacity) {
             Trophic.LOGGER.debug("{} cannot breed: population {} at capacity {} in area",
@@ -274,6 +272,11 @@ public class SeasonalBreedGoal extends Goal {
         return true;
     }
 
+    private static int speciesIndexOf(AnimalEntity animal) {
+        ResolvedSpecies species = Trophic.getInstance().getSpeciesRegistry().resolve(animal);
+        return species != null ? species.getIndex() : -1;
+    }
+
     /**
      * Performs the breeding action.
      */
@@ -283,9 +286,9 @@ public class SeasonalBreedGoal extends Goal {
         }
         
         // Get litter size from species definition
-        Identifier entityId = Registries.ENTITY_TYPE.getId(animal.getType());
         SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition species = registry.getSpecies(entityId).orElse(null);
+        ResolvedSpecies resolved = registry.resolve(animal);
+        SpeciesDefinition species = resolved != null ? resolved.getDefinition() : null;
         
         int litterSize = 1;
         if (species != null && species.getReproduction() != null) {
@@ -331,6 +334,7 @@ public class SeasonalBreedGoal extends Goal {
         }
         
         Trophic.LOGGER.debug("{} bred with mate, producing {} offspring", 
-                entityId, litterSize);
+                resolved != null ? resolved.getId() : Registries.ENTITY_TYPE.getId(animal.getType()),
+                litterSize);
     }
 }
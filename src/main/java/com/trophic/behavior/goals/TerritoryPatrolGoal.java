@@ -4,12 +4,13 @@ import com.trophic.Trophic;
 import com.trophic.behavior.ai.TerritoryManager;
 import com.trophic.behavior.ai.TerritoryManager.Territory;
 import com.trophic.config.TrophicConfig;
+import com.trophic.pathing.PathScheduler;
+import com.trophic.registry.ResolvedSpecies;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
-import net.minecraft.entity.ai.goal.Goal;
+import com.trophic.spatial.WorldQuery;
+import net.minecraft.entity.ai.pathing.Path;
 import net.minecraft.entity.passive.AnimalEntity;
-import net.minecraft.registry.Registries;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 
@@ -19,7 +20,7 @@ import java.util.Optional;
 /**
  * AI goal for territorial animals to patrol and defend their territory.
  */
-public class TerritoryPatrolGoal extends Goal {
+public class TerritoryPatrolGoal extends TrophicGoal {
     private final AnimalEntity animal;
     private final double patrolSpeed;
     
@@ -27,9 +28,11 @@ public class TerritoryPatrolGoal extends Goal {
     private Vec3d patrolTarget;
     private int patrolTimer;
     private int patrolPointIndex;
+    private PathScheduler.Request pathRequest;
     
 
     public TerritoryPatrolGoal(AnimalEntity animal, double patrolSpeed) {
+        super(animal);
         this.animal = animal;
         this.patrolSpeed = patrolSpeed;
         
@@ -37,11 +40,11 @@ public class TerritoryPatrolGoal extends Goal {
     }
 
     @Override
-    public boolean canStart() {
+    protected boolean canStartGoal() {
         // Check if territorial species
-        Identifier entityId = Registries.ENTITY_TYPE.getId(animal.getType());
         SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition species = registry.getSpecies(entityId).orElse(null);
+        ResolvedSpecies resolved = registry.resolve(animal);
+        SpeciesDefinition species = resolved != null ? resolved.getDefinition() : null;
         
         if (species == null || species.getSocial() == null) {
             return false;
@@ -52,7 +55,7 @@ public class TerritoryPatrolGoal extends Goal {
         }
         
         // Ensure we have a territory
-        Optional<Territory> existing = TerritoryManager.getTerritory(animal.getUuid());
+        Optional<Territory> existing = TerritoryManager.getTerritory(animal.getEntityWorld(), animal.getUuid());
         if (existing.isEmpty()) {
             territory = TerritoryManager.claimTerritory(animal);
         } else {
@@ -63,7 +66,7 @@ public class TerritoryPatrolGoal extends Goal {
     }
 
     @Override
-    public boolean shouldContinue() {
+    protected boolean shouldContinueGoal() {
         TrophicConfig.TerritoryConfig config = TrophicConfig.get().territory;
         return patrolTimer < config.patrolDuration * config.patrolPointCount;
     }
@@ -78,11 +81,13 @@ public class TerritoryPatrolGoal extends Goal {
     @Override
     public void stop() {
         patrolTarget = null;
+        Trophic.getInstance().getPathScheduler().cancel(pathRequest);
+        pathRequest = null;
         animal.getNavigation().stop();
     }
 
     @Override
-    public void tick() {
+    protected void tickGoal() {
         patrolTimer++;
         
         if (patrolTarget == null) {
@@ -98,12 +103,6 @@ public class TerritoryPatrolGoal extends Goal {
             patrolPointIndex++;
             selectNextPatrolPoint();
         }
-        
-        if (patrolTarget != null) {
-            animal.getNavigation().startMovingTo(
-                    patrolTarget.x, patrolTarget.y, patrolTarget.z, patrolSpeed
-            );
-        }
     }
 
     /**
@@ -132,20 +131,24 @@ public class TerritoryPatrolGoal extends Goal {
             // Can't reach this point, try the center
             patrolTarget = Vec3d.ofCenter(territory.center());
         }
+        
+        pathRequest = Trophic.getInstance().getPathScheduler().request(
+                animal, PathScheduler.Priority.ROUTINE, BlockPos.ofFloored(patrolTarget), 1, this::onPatrolPath);
+    }
+    
+    private void onPatrolPath(PathScheduler.Status status, Path path, int targetIndex) {
+        if (status == PathScheduler.Status.FOUND) {
+            animal.getNavigation().startMovingAlong(path, patrolSpeed);
+        }
     }
 
     /**
      * Finds a valid ground position near the given position.
+     * 
+     * @return the position, or null if none was found or the chunk is not loaded
      */
     private BlockPos findGround(BlockPos pos) {
         int searchRange = TrophicConfig.get().territory.groundSearchRange;
-        for (int dy = searchRange; dy >= -searchRange; dy--) {
-            BlockPos checkPos = pos.add(0, dy, 0);
-            if (animal.getEntityWorld().getBlockState(checkPos).isAir() &&
-                !animal.getEntityWorld().getBlockState(checkPos.down()).isAir()) {
-                return checkPos;
-            }
-        }
-        return null;
+        return WorldQuery.findGround(animal.getEntityWorld(), pos, searchRange);
     }
 }
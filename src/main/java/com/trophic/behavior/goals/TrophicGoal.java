@@ -0,0 +1,208 @@
+package com.trophic.behavior.goals;
+
+import com.trophic.Trophic;
+import com.trophic.behavior.EcologicalEntity;
+import com.trophic.config.TrophicConfig;
+import com.trophic.profiling.TrophicProfiler;
+import com.trophic.registry.ResolvedSpecies;
+import com.trophic.simulation.MigrationPlanner;
+import net.minecraft.entity.ai.goal.Goal;
+import net.minecraft.entity.mob.MobEntity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Base class for Trophic goals.
+ *
+ * Wraps {@link #canStart()}, {@link #shouldContinue()} and {@link #tick()}
+ * with the {@link TrophicProfiler}, recording each sampled call under the
+ * goal's class name and the owner's species. Subclasses implement the
+ * {@code *Goal} variants instead.
+ *
+ * An idle goal whose start condition cannot change for a while calls
+ * {@link #sleep(long)}. Until the wake-up tick passes, or one of the
+ * {@link Trigger}s the goal declared fires, {@link #canStart()} returns false
+ * after a tick comparison and a few counter reads instead of re-running the
+ * goal's checks. A species registry change wakes every goal.
+ */
+public abstract class TrophicGoal extends Goal {
+
+    /**
+     * State changes that wake a sleeping goal before its wake-up tick.
+     */
+    public enum Trigger {
+        /** The owner's hunger was set rather than decaying (fed, loaded, commands) */
+        HUNGER,
+        /** The owner's pack changed members or leader, or the owner changed pack */
+        PACK,
+        /** A pack migration started or ended */
+        MIGRATION
+    }
+
+    /**
+     * Wake-up counters for one goal class.
+     */
+    public static final class WakeStats {
+        private long pollsAvoided;
+        private long triggerWakes;
+        private long timerWakes;
+
+        /**
+         * @return canStart calls answered without running the goal's checks
+         */
+        public long getPollsAvoided() {
+            return pollsAvoided;
+        }
+
+        /**
+         * @return sleeps ended early by a trigger
+         */
+        public long getTriggerWakes() {
+            return triggerWakes;
+        }
+
+        /**
+         * @return sleeps that ran to their wake-up tick
+         */
+        public long getTimerWakes() {
+            return timerWakes;
+        }
+    }
+
+    // Goals are also constructed on the client thread in singleplayer
+    private static final Map<String, WakeStats> WAKE_STATS = new ConcurrentSkipListMap<>();
+
+    private final MobEntity owner;
+    private final TrophicProfiler profiler;
+    private final TrophicProfiler.Section canStartSection;
+    private final TrophicProfiler.Section shouldContinueSection;
+    private final TrophicProfiler.Section tickSection;
+
+    private final Trigger[] triggers;
+    private final int[] sleepVersions;
+    private final WakeStats wakeStats;
+    private int sleepGeneration;
+    // Asleep while the world time is below this tick
+    private long wakeTick = Long.MIN_VALUE;
+
+    protected TrophicGoal(MobEntity owner, Trigger... triggers) {
+        this.owner = owner;
+        this.profiler = Trophic.getInstance().getProfiler();
+        this.triggers = triggers;
+        this.sleepVersions = new int[triggers.length];
+
+        String name = getClass().getSimpleName();
+        this.canStartSection = profiler.section(name + ".canStart");
+        this.shouldContinueSection = profiler.section(name + ".shouldContinue");
+        this.tickSection = profiler.section(name + ".tick");
+        this.wakeStats = WAKE_STATS.computeIfAbsent(name, k -> new WakeStats());
+    }
+
+    @Override
+    public final boolean canStart() {
+        if (isAsleep()) {
+            wakeStats.pollsAvoided++;
+            return false;
+        }
+
+        long start = profiler.begin();
+        boolean result = canStartGoal();
+        end(canStartSection, start);
+        return result;
+    }
+
+    @Override
+    public final boolean shouldContinue() {
+        long start = profiler.begin();
+        boolean result = shouldContinueGoal();
+        end(shouldContinueSection, start);
+        return result;
+    }
+
+    @Override
+    public final void tick() {
+        long start = profiler.begin();
+        tickGoal();
+        end(tickSection, start);
+    }
+
+    /**
+     * Skips {@link #canStartGoal()} for up to {@code ticks}, capped at
+     * {@code scheduler.maxGoalSleep}, or until a declared trigger fires.
+     */
+    protected final void sleep(long ticks) {
+        if (ticks <= 0) {
+            return;
+        }
+
+        long cap = Math.max(1, TrophicConfig.get().scheduler.maxGoalSleep);
+        wakeTick = owner.getEntityWorld().getTime() + Math.min(ticks, cap);
+        sleepGeneration = Trophic.getInstance().getSpeciesRegistry().getGeneration();
+        for (int i = 0; i < triggers.length; i++) {
+            sleepVersions[i] = version(triggers[i]);
+        }
+    }
+
+    private boolean isAsleep() {
+        if (wakeTick == Long.MIN_VALUE) {
+            return false;
+        }
+
+        if (owner.getEntityWorld().getTime() >= wakeTick) {
+            wakeTick = Long.MIN_VALUE;
+            wakeStats.timerWakes++;
+            return false;
+        }
+
+        boolean triggered = sleepGeneration != Trophic.getInstance().getSpeciesRegistry().getGeneration();
+        for (int i = 0; i < triggers.length && !triggered; i++) {
+            triggered = sleepVersions[i] != version(triggers[i]);
+        }
+        if (triggered) {
+            wakeTick = Long.MIN_VALUE;
+            wakeStats.triggerWakes++;
+            return false;
+        }
+        return true;
+    }
+
+    private int version(Trigger trigger) {
+        return switch (trigger) {
+            case HUNGER -> owner instanceof EcologicalEntity eco ? eco.trophic_getHungerVersion() : 0;
+            case PACK -> Trophic.getInstance().getSocialStoreManager()
+                    .getPackStore(owner.getEntityWorld()).getVersion(owner.getUuid());
+            case MIGRATION -> MigrationPlanner.getVersion();
+        };
+    }
+
+    /**
+     * @return wake-up counters keyed by goal class name
+     */
+    public static Map<String, WakeStats> getWakeStats() {
+        return WAKE_STATS;
+    }
+
+    private void end(TrophicProfiler.Section section, long start) {
+        if (start != 0) {
+            long elapsed = System.nanoTime() - start;
+            ResolvedSpecies species = Trophic.getInstance().getSpeciesRegistry().resolve(owner);
+            profiler.record(section, species != null ? species.getId() : null, elapsed);
+        }
+    }
+
+    /**
+     * @see Goal#canStart()
+     */
+    protected abstract boolean canStartGoal();
+
+    /**
+     * @see Goal#shouldContinue()
+     */
+    protected abstract boolean shouldContinueGoal();
+
+    /**
+     * @see Goal#tick()
+     */
+    protected abstract void tickGoal();
+}
@@ -5,9 +5,21 @@ import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.trophic.Trophic;
 import com.trophic.behavior.EcologicalEntity;
+import com.trophic.behavior.ai.PackClusterer;
+import com.trophic.behavior.ai.PredatorAwareness;
+import com.trophic.behavior.ai.SocialStoreManager;
+import com.trophic.behavior.goals.MigrationGoal;
+import com.trophic.behavior.goals.TrophicGoal;
 import com.trophic.config.TrophicConfig;
+import com.trophic.pathing.ChunkGraphManager;
+import com.trophic.profiling.TrophicProfiler;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
+import com.trophic.scheduling.TimingWheelManager;
+import com.trophic.spatial.ThreatMapManager;
+import com.trophic.spatial.WorldQuery;
+import com.trophic.simulation.MigrationDispatcher;
+import com.trophic.simulation.MigrationPlanner;
 import com.trophic.simulation.SeasonManager;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.minecraft.command.argument.EntityArgumentType;
@@ -34,6 +46,7 @@ import static net.minecraft.server.command.CommandManager.literal;
  * - /trophic reload - Reload config from disk
  * - /trophic list [radius] - List animal populations in area
  * - /trophic info <entity> - Get detailed info about an animal
+ * - /trophic profile start [sampleRate] | stop | dump - Profile goals and subsystems
  */
 public class TrophicCommands {
     
@@ -58,6 +71,8 @@ public class TrophicCommands {
                         .executes(TrophicCommands::executeInfo)))
                 .then(literal("season")
                     .executes(TrophicCommands::executeSeason))
+                .then(literal("stats")
+                    .executes(TrophicCommands::executeStats))
                 .then(literal("feed")
                     .then(argument("target", EntityArgumentType.entity())
                         .executes(context -> executeFeed(context, 100))
@@ -66,6 +81,15 @@ public class TrophicCommands {
                 .then(literal("starve")
                     .then(argument("target", EntityArgumentType.entity())
                         .executes(TrophicCommands::executeStarve)))
+                .then(literal("profile")
+                    .then(literal("start")
+                        .executes(context -> executeProfileStart(context, 1))
+                        .then(argument("sampleRate", IntegerArgumentType.integer(1, 1000))
+                            .executes(context -> executeProfileStart(context, IntegerArgumentType.getInteger(context, "sampleRate")))))
+                    .then(literal("stop")
+                        .executes(TrophicCommands::executeProfileStop))
+                    .then(literal("dump")
+                        .executes(TrophicCommands::executeProfileDump)))
         );
     }
     
@@ -75,6 +99,10 @@ public class TrophicCommands {
     private static int executeReload(CommandContext<ServerCommandSource> context) {
         try {
             TrophicConfig.reload();
+            
+            // Cached species handles hold config-derived values
+            Trophic.getInstance().getSpeciesRegistry().invalidateResolved();
+            
             context.getSource().sendFeedback(
                 () -> Text.literal("[Trophic] Configuration reloaded successfully!")
                     .formatted(Formatting.GREEN),
@@ -396,6 +424,87 @@ public class TrophicCommands {
         }
     }
     
+    /**
+     * /trophic stats - Show live pack and territory entries per world
+     */
+    private static int executeStats(CommandContext<ServerCommandSource> context) {
+        Map<String, SocialStoreManager.StoreStats> stats =
+                Trophic.getInstance().getSocialStoreManager().getStats();
+        
+        context.getSource().sendFeedback(
+            () -> Text.literal("=== Social Stores ===")
+                .formatted(Formatting.GOLD, Formatting.BOLD),
+            false
+        );
+        
+        PackClusterer clusterer = Trophic.getInstance().getPackClusterer();
+        context.getSource().sendFeedback(
+            () -> Text.literal("Clustering: ")
+                .formatted(Formatting.GRAY)
+                .append(Text.literal(String.format("pass %d, %d animals into %d packs so far",
+                        clusterer.getPasses(), clusterer.getLastPassAnimals(), clusterer.getLastPassPacks()))
+                    .formatted(Formatting.WHITE)),
+            false
+        );
+        
+        TimingWheelManager timers = Trophic.getInstance().getTimingWheelManager();
+        context.getSource().sendFeedback(
+            () -> Text.literal("Timers: ")
+                .formatted(Formatting.GRAY)
+                .append(Text.literal(String.format("%d pending, %d fired",
+                        timers.getPendingCount(), timers.getFiredCount()))
+                    .formatted(Formatting.WHITE)),
+            false
+        );
+        
+        ThreatMapManager threats = Trophic.getInstance().getThreatMapManager();
+        context.getSource().sendFeedback(
+            () -> Text.literal("Threat: ")
+                .formatted(Formatting.GRAY)
+                .append(Text.literal(String.format("%d cells, %d stamps, %d scans run, %d skipped",
+                        threats.getCellCount(), threats.getStampCount(),
+                        PredatorAwareness.getScansRun(), PredatorAwareness.getScansSkipped()))
+                    .formatted(Formatting.WHITE)),
+            false
+        );
+        
+        for (Map.Entry<String, TrophicGoal.WakeStats> entry : TrophicGoal.getWakeStats().entrySet()) {
+            TrophicGoal.WakeStats wake = entry.getValue();
+            context.getSource().sendFeedback(
+                () -> Text.literal(entry.getKey() + ": ")
+                    .formatted(Formatting.GRAY)
+                    .append(Text.literal(String.format("%d polls avoided, %d trigger / %d timer wakes",
+                            wake.getPollsAvoided(), wake.getTriggerWakes(), wake.getTimerWakes()))
+                        .formatted(Formatting.WHITE)),
+                false
+            );
+        }
+        
+        if (stats.isEmpty()) {
+            context.getSource().sendFeedback(
+                () -> Text.literal("No packs or territories tracked")
+                    .formatted(Formatting.GRAY),
+                false
+            );
+            return 1;
+        }
+        
+        for (Map.Entry<String, SocialStoreManager.StoreStats> entry : stats.entrySet()) {
+            SocialStoreManager.StoreStats worldStats = entry.getValue();
+            context.getSource().sendFeedback(
+                () -> Text.literal(entry.getKey() + ": ")
+                    .formatted(Formatting.GRAY)
+                    .append(Text.literal(String.format("%d animals in %d packs, %d territories over %d cells",
+                            worldStats.packMembers(), worldStats.packs(),
+                            worldStats.territories(), worldStats.territoryCells()))
+                        .formatted(Formatting.WHITE)),
+                false
+            );
+        }
+        
+        return 1;
+    }
+    
     /**
      * /trophic season - Show current season info
      */
@@ -460,6 +569,39 @@ public class TrophicCommands {
             false
         );
         
+        long migrations = MigrationGoal.getTotalMigrations();
+        double attemptsPerMigration = migrations > 0
+            ? (double) MigrationGoal.getTotalPathAttempts() / migrations : 0.0;
+        context.getSource().sendFeedback(
+            () -> Text.literal("Migrating: ")
+                .formatted(Formatting.GRAY)
+                .append(Text.literal(String.format("%d now in %d packs, %d total, %d segments, %.1f paths/migration",
+                        MigrationGoal.getActiveMigrations(), MigrationPlanner.getActiveMigrations().size(), migrations,
+                        MigrationGoal.getTotalSegments(), attemptsPerMigration))
+                    .formatted(Formatting.WHITE)),
+            false
+        );
+        
+        MigrationDispatcher dispatcher = Trophic.getInstance().getMigrationDispatcher();
+        context.getSource().sendFeedback(
+            () -> Text.literal("Migration queue: ")
+                .formatted(Formatting.GRAY)
+                .append(Text.literal(String.format("%d waiting, %d dispatched",
+                        dispatcher.getQueueDepth(), dispatcher.getMigratingCount()))
+                    .formatted(Formatting.WHITE)),
+            false
+        );
+        
+        ChunkGraphManager graphs = Trophic.getInstance().getChunkGraphManager();
+        context.getSource().sendFeedback(
+            () -> Text.literal("Routes: ")
+                .formatted(Formatting.GRAY)
+                .append(Text.literal(String.format("%d searched, %d cached hops used",
+                        graphs.getRoutesComputed(), graphs.getRouteCacheHits()))
+                    .formatted(Formatting.WHITE)),
+            false
+        );
+        
         return 1;
     }
     
@@ -523,4 +665,97 @@ public class TrophicCommands {
             return 0;
         }
     }
+    
+    /**
+     * /trophic profile start [sampleRate] - Start sampling goal and subsystem timings
+     */
+    private static int executeProfileStart(CommandContext<ServerCommandSource> context, int sampleRate) {
+        Trophic.getInstance().getProfiler().start(sampleRate);
+        
+        context.getSource().sendFeedback(
+            () -> Text.literal("[Trophic] Profiler started (sampling 1 in " + sampleRate + " calls)")
+                .formatted(Formatting.GREEN),
+            true
+        );
+        return 1;
+    }
+    
+    /**
+     * /trophic profile stop - Stop sampling, keeping the results
+     */
+    private static int executeProfileStop(CommandContext<ServerCommandSource> context) {
+        TrophicProfiler profiler = Trophic.getInstance().getProfiler();
+        profiler.stop();
+        
+        context.getSource().sendFeedback(
+            () -> Text.literal("[Trophic] Profiler stopped after " + profiler.getTicks() + " ticks")
+                .formatted(Formatting.YELLOW),
+            true
+        );
+        return 1;
+    }
+    
+    /**
+     * /trophic profile dump - Show p50/p99/max and calls per tick, most expensive first.
+     * The full table is written to the log.
+     */
+    private static int executeProfileDump(CommandContext<ServerCommandSource> context) {
+        TrophicProfiler profiler = Trophic.getInstance().getProfiler();
+        List<TrophicProfiler.Result> results = profiler.getResults();
+        
+        if (results.isEmpty()) {
+            context.getSource().sendFeedback(
+                () -> Text.literal("[Trophic] No profiling data - run /trophic profile start first")
+                    .formatted(Formatting.YELLOW),
+                false
+            );
+            return 0;
+        }
+        
+        context.getSource().sendFeedback(
+            () -> Text.literal("=== Trophic Profile (" + profiler.getTicks() + " ticks, 1 in "
+                    + profiler.getSampleRate() + (profiler.isRunning() ? ", running" : "") + ") ===")
+                .formatted(Formatting.GOLD, Formatting.BOLD),
+            false
+        );
+        
+        long queries = WorldQuery.getQueryCount();
+        long misses = WorldQuery.getMissCount();
+        context.getSource().sendFeedback(
+            () -> Text.literal("World queries: ")
+                .formatted(Formatting.GRAY)
+                .append(Text.literal(queries + " (" + misses + " unloaded)")
+                    .formatted(Formatting.WHITE)),
+            false
+        );
+        
+        Trophic.LOGGER.info("Trophic profile over {} ticks, sampling 1 in {}:", profiler.getTicks(), profiler.getSampleRate());
+        Trophic.LOGGER.info("  World queries: {} ({} unloaded)", queries, misses);
+        int shown = 0;
+        for (TrophicProfiler.Result result : results) {
+            String label = result.section() + (result.species() != null ? " [" + result.species().getPath() + "]" : "");
+            String stats = String.format("%.1f calls/t, p50 %.1fus, p99 %.1fus, max %.1fus",
+                result.callsPerTick(), result.p50Nanos() / 1000.0, result.p99Nanos() / 1000.0, result.maxNanos() / 1000.0);
+            Trophic.LOGGER.info("  {}: {}", label, stats);
+            
+            if (shown++ < 15) {
+                context.getSource().sendFeedback(
+                    () -> Text.literal("  " + label + ": ")
+                        .formatted(Formatting.GRAY)
+                        .append(Text.literal(stats).formatted(Formatting.WHITE)),
+                    false
+                );
+            }
+        }
+        
+        if (results.size() > 15) {
+            int hidden = results.size() - 15;
+            context.getSource().sendFeedback(
+                () -> Text.literal("  ... " + hidden + " more in the server log")
+                    .formatted(Formatting.DARK_GRAY),
+                false
+            );
+        }
+        return 1;
+    }
 }
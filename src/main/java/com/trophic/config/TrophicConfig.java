@@ -72,6 +72,15 @@ public class TrophicConfig {
         
         /** Weight for predator distance in flee target scoring (default: 0.5) */
         public double predatorDistanceWeight = 0.5;
+        
+        /** Radius in blocks over which each predator stamps threat into the threat map (default: 24) */
+        public double threatRadius = 24.0;
+        
+        /** Fraction of stamped threat kept per tick once the predator has moved on (default: 0.85) */
+        public double threatDecay = 0.85;
+        
+        /** Threat below which prey skip the predator scan, under 1 - detectionRange / threatRadius (default: 0.25) */
+        public double threatThreshold = 0.25;
     }
     
     // ===== HUNTING BEHAVIOR =====
@@ -127,6 +136,12 @@ public class TrophicConfig {
         
         /** Random spread offset when moving toward pack center in blocks (default: 4) */
         public double spreadOffset = 4.0;
+        
+        /** Ticks between clustering passes over every region (default: 400 = 20 seconds) */
+        public int clusterInterval = 400;
+        
+        /** Scheduler runs each clustering pass is spread over (default: 20) */
+        public int clusterSlices = 20;
     }
     
     // ===== BREEDING =====
@@ -185,6 +200,9 @@ public class TrophicConfig {
         
         /** Vertical range to search for food (default: 3) */
         public int verticalSearchRange = 3;
+        
+        /** Maximum pathfinding attempts per food search, nearest first (default: 3) */
+        public int maxPathAttempts = 3;
     }
     
     // ===== MIGRATION =====
@@ -197,8 +215,11 @@ public class TrophicConfig {
         /** Ticks without movement before considered stuck (default: 200 = 10 seconds) */
         public int stuckThreshold = 200;
         
-        /** How often to check migration conditions in ticks (default: 100) */
-        public int checkInterval = 100;
+        /** Ticks without movement before the current segment is re-pathed (default: 60 = 3 seconds) */
+        public int stuckRepathTicks = 60;
+        
+        /** Consecutive failed segment paths before migration is abandoned (default: 3) */
+        public int maxSegmentFailures = 3;
         
         /** Distance to intermediate waypoints in blocks (default: 32) */
         public int waypointDistance = 32;
@@ -220,6 +241,33 @@ public class TrophicConfig {
         
         /** Vertical range to search for ground (default: 5) */
         public int groundSearchRange = 5;
+        
+        /** Spacing between followers in a migrating pack's formation in blocks (default: 3) */
+        public double formationSpacing = 3.0;
+        
+        /** Ticks between follower formation updates (default: 10) */
+        public int followUpdateTicks = 10;
+        
+        /** Distance from its formation slot beyond which a follower paths instead of steering (default: 24) */
+        public double followPathDistance = 24.0;
+        
+        /** Speed multiplier for a leader with followers, so the pack keeps up (default: 0.85) */
+        public double leaderSpeedFactor = 0.85;
+        
+        /** Maximum pack migrations in progress per world (default: 16) */
+        public int maxConcurrentMigrations = 16;
+        
+        /** Maximum migration plans admitted per tick per world (default: 2) */
+        public int maxPlansPerTick = 2;
+        
+        /** Ticks between departure waves (default: 200 = 10 seconds) */
+        public int waveInterval = 200;
+        
+        /** Ticks a queued leader may go without asking before it is dropped (default: 100) */
+        public int queueTimeout = 100;
+        
+        /** Ticks an admitted leader has to start planning (default: 40) */
+        public int ticketTimeout = 40;
     }
     
     // ===== TERRITORY PATROL =====
@@ -245,6 +293,68 @@ public class TrophicConfig {
         public int groundSearchRange = 5;
     }
     
+    // ===== POPULATION TRACKING =====
+    public PopulationConfig population = new PopulationConfig();
+    
+    public static class PopulationConfig {
+        /** Periodically recount loaded animals and report drift (default: true) */
+        public boolean reconcileEnabled = true;
+        
+        /** Ticks between reconciliation passes (default: 6000 = 5 minutes) */
+        public int reconcileInterval = 6000;
+        
+        /** Regions recounted per tick during a pass (default: 2) */
+        public int reconcileRegionsPerTick = 2;
+    }
+    
+    // ===== PERSISTENCE =====
+    public PersistenceConfig persistence = new PersistenceConfig();
+    
+    public static class PersistenceConfig {
+        /** Ticks between autosaves of dirty ecosystem regions (default: 6000 = 5 minutes) */
+        public int autosaveInterval = 6000;
+        
+        /** Maximum time to wait for pending writes on shutdown in seconds (default: 10) */
+        public int shutdownWaitSeconds = 10;
+        
+        /** Maximum regions without loaded chunks kept in memory per dimension (default: 256) */
+        public int maxIdleRegions = 256;
+    }
+    
+    // ===== PATHFINDING =====
+    public PathingConfig pathing = new PathingConfig();
+    
+    public static class PathingConfig {
+        /** Time budget for queued pathfinding per server tick in milliseconds (default: 4.0) */
+        public double tickBudgetMs = 4.0;
+        
+        /** Maximum path computations per server tick (default: 64) */
+        public int maxPathsPerTick = 64;
+        
+        /** Ticks a request may wait in the queue before it expires (default: 40 = 2 seconds) */
+        public int maxRequestAge = 40;
+        
+        /** Maximum chunks expanded by one chunk-graph route search (default: 1024) */
+        public int routeMaxNodes = 1024;
+        
+        /** Destination cells whose routes are cached per world (default: 64) */
+        public int routeCacheSize = 64;
+    }
+    
+    // ===== SCHEDULER =====
+    public SchedulerConfig scheduler = new SchedulerConfig();
+    
+    public static class SchedulerConfig {
+        /** Time budget for scheduled simulation work per server tick in milliseconds (default: 2.0) */
+        public double tickBudgetMs = 2.0;
+        
+        /** Longest an idle goal sleeps before re-checking without a trigger in ticks (default: 1200 = 1 minute) */
+        public int maxGoalSleep = 1200;
+        
+        /** Sleep for idle goals waiting on slowly changing conditions in ticks (default: 200 = 10 seconds) */
+        public int goalRecheckInterval = 200;
+    }
+    
     // ===== CONFIG LOADING/SAVING =====
     
     public static TrophicConfig get() {
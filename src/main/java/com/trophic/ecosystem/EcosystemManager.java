@@ -1,30 +1,74 @@
 package com.trophic.ecosystem;
 
 import com.trophic.Trophic;
+import com.trophic.config.TrophicConfig;
+import com.trophic.scheduling.TrophicScheduler;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.WorldSavePath;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.dimension.DimensionType;
 
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages ecosystem state across all dimensions.
  * Coordinates regional ecosystems and handles cross-region interactions.
+ * 
+ * Regions follow the load status of their chunks: a region with loaded chunks
+ * is active and ticked, a region without is idle and kept in a bounded LRU,
+ * and idle regions past the bound are saved and evicted. Idle and reloaded
+ * regions catch up on the elapsed time the next time they are ticked.
  */
 public class EcosystemManager {
     // Region size in chunks (16x16 chunks = 256x256 blocks)
     public static final int REGION_SIZE = 16;
     
-    // Tick interval for ecosystem updates (every 5 seconds)
+    // Tick interval for each region's update (every 5 seconds)
     private static final int UPDATE_INTERVAL = 100;
     
-    private final Map<World, Map<Long, RegionEcosystem>> worldEcosystems = new HashMap<>();
+    private final TrophicScheduler scheduler;
+    private final Map<World, WorldRegions> worldEcosystems = new HashMap<>();
+    private final Map<World, RegionStorage> storages = new HashMap<>();
+    private ExecutorService ioExecutor;
     private MinecraftServer server;
-    private int tickCounter = 0;
 
-    public EcosystemManager() {
+    public EcosystemManager(TrophicScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Registers chunk and world events that drive region residency, and
+     * schedules the periodic autosave.
+     */
+    public void register() {
+        ServerChunkEvents.CHUNK_LOAD.register(this::onChunkLoad);
+        ServerChunkEvents.CHUNK_UNLOAD.register(this::onChunkUnload);
+        ServerWorldEvents.UNLOAD.register((server, world) -> {
+            WorldRegions regions = worldEcosystems.remove(world);
+            if (regions != null) {
+                regions.active.values().forEach(this::deactivate);
+            }
+        });
+        
+        scheduler.schedule("EcosystemManager.autosave", TrophicConfig.get().persistence.autosaveInterval, server -> {
+            int files = saveDirty();
+            Trophic.LOGGER.debug("Autosave queued {} ecosystem files", files);
+        });
+        
+        Trophic.LOGGER.info("EcosystemManager registered");
     }
 
     /**
@@ -32,35 +76,94 @@ public class EcosystemManager {
      */
     public void initializeForServer(MinecraftServer server) {
         this.server = server;
-        worldEcosystems.clear();
         
+        // Keep regions populated by entity loads before startup completed,
+        // but drop worlds left over from a previous server
+        worldEcosystems.entrySet().removeIf(entry -> {
+            if (entry.getKey().getServer() == server) {
+                return false;
+            }
+            entry.getValue().active.values().forEach(this::deactivate);
+            return true;
+        });
         for (ServerWorld world : server.getWorlds()) {
-            worldEcosystems.put(world, new HashMap<>());
+            worldEcosystems.computeIfAbsent(world, k -> new WorldRegions());
         }
         
         Trophic.LOGGER.info("EcosystemManager initialized for {} dimensions", worldEcosystems.size());
     }
 
     /**
-     * Called every server tick to update ecosystems.
+     * Marks a region active and schedules its periodic update. Each region
+     * gets its own phase, so updates are spread across the interval. Idle
+     * regions are not ticked; they catch up when they become active again.
      */
-    public void tick(MinecraftServer server) {
-        tickCounter++;
+    private void activate(long regionKey, RegionEcosystem region) {
+        region.setState(RegionEcosystem.State.ACTIVE);
+        region.setScheduledUpdate(scheduler.schedule("EcosystemManager.regionUpdate", regionKey, UPDATE_INTERVAL, server -> region.tick()));
+    }
+
+    private void deactivate(RegionEcosystem region) {
+        scheduler.cancel(region.getScheduledUpdate());
+        region.setScheduledUpdate(null);
+        region.setState(RegionEcosystem.State.IDLE);
+    }
+
+    private void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        WorldRegions regions = worldEcosystems.computeIfAbsent(world, k -> new WorldRegions());
+        long regionKey = getRegionKey(chunk.getPos());
         
-        if (tickCounter >= UPDATE_INTERVAL) {
-            tickCounter = 0;
-            updateAllEcosystems();
+        if (regions.loadedChunks.addTo(regionKey, 1) == 0) {
+            RegionEcosystem region = regions.idle.remove(regionKey);
+            if (region != null) {
+                region.tick();
+                activate(regionKey, region);
+                regions.active.put(regionKey, region);
+            }
+        }
+    }
+
+    private void onChunkUnload(ServerWorld world, WorldChunk chunk) {
+        WorldRegions regions = worldEcosystems.get(world);
+        if (regions == null) {
+            return;
+        }
+        long regionKey = getRegionKey(chunk.getPos());
+        
+        if (regions.loadedChunks.addTo(regionKey, -1) <= 1) {
+            regions.loadedChunks.remove(regionKey);
+            RegionEcosystem region = regions.active.remove(regionKey);
+            if (region != null) {
+                deactivate(region);
+                regions.idle.put(regionKey, region);
+                evictIdle(world, regions);
+            }
         }
     }
 
     /**
-     * Updates all active ecosystems.
+     * Saves and drops the least recently used idle regions beyond the
+     * configured bound. Regions still holding counted animals are kept.
      */
-    private void updateAllEcosystems() {
-        for (Map.Entry<World, Map<Long, RegionEcosystem>> worldEntry : worldEcosystems.entrySet()) {
-            for (RegionEcosystem region : worldEntry.getValue().values()) {
-                region.tick();
+    private void evictIdle(World world, WorldRegions regions) {
+        int excess = regions.idle.size() - TrophicConfig.get().persistence.maxIdleRegions;
+        if (excess <= 0) {
+            return;
+        }
+        
+        RegionStorage storage = getStorage(world);
+        Iterator<RegionEcosystem> iterator = regions.idle.values().iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            RegionEcosystem region = iterator.next();
+            if (region.getTotalPopulation() > 0) {
+                continue;
+            }
+            if (storage != null && region.isDirty()) {
+                storage.store(region.getRegionX(), region.getRegionZ(), region.save());
             }
+            region.setState(RegionEcosystem.State.UNLOADED);
+            iterator.remove();
+            excess--;
         }
     }
 
@@ -68,48 +171,174 @@ public class EcosystemManager {
      * Gets or creates a region ecosystem for the given chunk position.
      */
     public RegionEcosystem getOrCreateRegion(World world, ChunkPos chunkPos) {
-        Map<Long, RegionEcosystem> worldRegions = worldEcosystems.computeIfAbsent(world, k -> new HashMap<>());
+        return getOrCreateRegion(world, getRegionKey(chunkPos));
+    }
+
+    /**
+     * Gets the keys of the regions with at least one loaded chunk.
+     */
+    public long[] getLoadedRegionKeys(World world) {
+        WorldRegions regions = worldEcosystems.get(world);
+        return regions != null ? regions.loadedChunks.keySet().toLongArray() : new long[0];
+    }
+
+    /**
+     * Gets or creates a region ecosystem by region key.
+     */
+    public RegionEcosystem getOrCreateRegion(World world, long regionKey) {
+        WorldRegions regions = worldEcosystems.computeIfAbsent(world, k -> new WorldRegions());
         
-        long regionKey = getRegionKey(chunkPos);
-        return worldRegions.computeIfAbsent(regionKey, k -> {
-            int regionX = Math.floorDiv(chunkPos.x, REGION_SIZE);
-            int regionZ = Math.floorDiv(chunkPos.z, REGION_SIZE);
-            return new RegionEcosystem(world, regionX, regionZ);
-        });
+        RegionEcosystem region = regions.get(regionKey);
+        if (region == null) {
+            region = new RegionEcosystem(world, ChunkPos.getPackedX(regionKey), ChunkPos.getPackedZ(regionKey));
+            
+            // Lazily restore saved state on first touch and catch up on the
+            // time spent unloaded
+            RegionStorage storage = getStorage(world);
+            if (storage != null) {
+                RegionEcosystem.RegionData data = storage.load(region.getRegionX(), region.getRegionZ());
+                if (data != null) {
+                    region.load(data);
+                    region.tick();
+                }
+            }
+            
+            if (regions.loadedChunks.get(regionKey) > 0) {
+                activate(regionKey, region);
+                regions.active.put(regionKey, region);
+            } else {
+                regions.idle.put(regionKey, region);
+                evictIdle(world, regions);
+            }
+        }
+        return region;
+    }
+
+    /**
+     * Gets the region storage for a world, creating it if needed.
+     * 
+     * @return the storage, or null for non-server worlds
+     */
+    private RegionStorage getStorage(World world) {
+        if (!(world instanceof ServerWorld serverWorld)) {
+            return null;
+        }
+        
+        RegionStorage storage = storages.get(world);
+        if (storage == null) {
+            Path root = serverWorld.getServer().getSavePath(WorldSavePath.ROOT);
+            Path directory = DimensionType.getSaveDirectory(world.getRegistryKey(), root)
+                    .resolve("data")
+                    .resolve(Trophic.MOD_ID);
+            storage = new RegionStorage(directory, getExecutor());
+            storages.put(world, storage);
+        }
+        return storage;
+    }
+
+    private ExecutorService getExecutor() {
+        if (ioExecutor == null) {
+            ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Trophic Region IO");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return ioExecutor;
     }
 
     /**
      * Gets the region ecosystem for a chunk, if it exists.
      */
     public RegionEcosystem getRegion(World world, ChunkPos chunkPos) {
-        Map<Long, RegionEcosystem> worldRegions = worldEcosystems.get(world);
-        if (worldRegions == null) {
+        return getRegion(world, getRegionKey(chunkPos));
+    }
+
+    /**
+     * Gets the region ecosystem by region key, if it exists.
+     */
+    public RegionEcosystem getRegion(World world, long regionKey) {
+        WorldRegions regions = worldEcosystems.get(world);
+        if (regions == null) {
             return null;
         }
-        return worldRegions.get(getRegionKey(chunkPos));
+        return regions.get(regionKey);
     }
 
     /**
      * Converts a chunk position to a region key.
      */
-    private long getRegionKey(ChunkPos chunkPos) {
+    public static long getRegionKey(ChunkPos chunkPos) {
         int regionX = Math.floorDiv(chunkPos.x, REGION_SIZE);
         int regionZ = Math.floorDiv(chunkPos.z, REGION_SIZE);
         return ChunkPos.toLong(regionX, regionZ);
     }
 
     /**
-     * Saves all ecosystem data.
+     * Converts a block position to a region key without allocating.
+     */
+    public static long getRegionKey(int blockX, int blockZ) {
+        return ChunkPos.toLong(
+                Math.floorDiv(blockX >> 4, REGION_SIZE),
+                Math.floorDiv(blockZ >> 4, REGION_SIZE));
+    }
+
+    /**
+     * Stores every dirty region and queues the affected files for writing.
+     * 
+     * @return the number of files queued
+     */
+    public int saveDirty() {
+        int files = 0;
+        for (Map.Entry<World, WorldRegions> worldEntry : worldEcosystems.entrySet()) {
+            RegionStorage storage = getStorage(worldEntry.getKey());
+            if (storage == null) {
+                continue;
+            }
+            WorldRegions regions = worldEntry.getValue();
+            storeDirty(storage, regions.active);
+            storeDirty(storage, regions.idle);
+            files += storage.flush();
+        }
+        return files;
+    }
+
+    private static void storeDirty(RegionStorage storage, Map<Long, RegionEcosystem> regions) {
+        for (RegionEcosystem region : regions.values()) {
+            if (region.isDirty()) {
+                storage.store(region.getRegionX(), region.getRegionZ(), region.save());
+            }
+        }
+    }
+
+    /**
+     * Saves all ecosystem data and waits a bounded time for the writes to
+     * finish. Called on server shutdown.
      */
     public void saveAll() {
-        int regionCount = 0;
-        for (Map<Long, RegionEcosystem> worldRegions : worldEcosystems.values()) {
-            for (RegionEcosystem region : worldRegions.values()) {
-                region.save();
-                regionCount++;
+        int files = saveDirty();
+        
+        if (ioExecutor != null) {
+            ioExecutor.shutdown();
+            int waitSeconds = TrophicConfig.get().persistence.shutdownWaitSeconds;
+            try {
+                if (!ioExecutor.awaitTermination(waitSeconds, TimeUnit.SECONDS)) {
+                    Trophic.LOGGER.warn("Ecosystem writes still pending after {}s, continuing shutdown", waitSeconds);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
+            ioExecutor = null;
         }
-        Trophic.LOGGER.info("Saved {} ecosystem regions", regionCount);
+        storages.clear();
+        
+        // Chunk unloads after this point must not reopen storage
+        for (WorldRegions regions : worldEcosystems.values()) {
+            regions.active.values().forEach(this::deactivate);
+        }
+        worldEcosystems.clear();
+        
+        Trophic.LOGGER.info("Saved {} ecosystem files", files);
     }
 
     /**
@@ -117,7 +346,32 @@ public class EcosystemManager {
      */
     public int getActiveRegionCount() {
         return worldEcosystems.values().stream()
-                .mapToInt(Map::size)
+                .mapToInt(regions -> regions.active.size())
                 .sum();
     }
+
+    /**
+     * @return the total number of idle regions kept in memory
+     */
+    public int getIdleRegionCount() {
+        return worldEcosystems.values().stream()
+                .mapToInt(regions -> regions.idle.size())
+                .sum();
+    }
+
+    /**
+     * Region state for one world.
+     */
+    private static final class WorldRegions {
+        private final Map<Long, RegionEcosystem> active = new HashMap<>();
+        // Access-ordered, so iteration starts at the least recently used region
+        private final LinkedHashMap<Long, RegionEcosystem> idle = new LinkedHashMap<>(16, 0.75f, true);
+        // Loaded chunk count per region key
+        private final Long2IntOpenHashMap loadedChunks = new Long2IntOpenHashMap();
+
+        RegionEcosystem get(long regionKey) {
+            RegionEcosystem region = active.get(regionKey);
+            return region != null ? region : idle.get(regionKey);
+        }
+    }
 }
@@ -1,23 +1,37 @@
 package com.trophic.ecosystem;
 
 import com.trophic.Trophic;
+import com.trophic.scheduling.TrophicScheduler;
 import net.minecraft.util.Identifier;
 import net.minecraft.world.World;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Represents the ecosystem state for a region (16x16 chunks).
  * Tracks population counts, food web state, and environmental conditions.
  */
 public class RegionEcosystem {
+
+    /**
+     * Residency of a region, driven by the load status of its chunks.
+     */
+    public enum State {
+        /** At least one chunk is loaded; the region is ticked */
+        ACTIVE,
+        /** No chunks are loaded; kept in memory but not ticked */
+        IDLE,
+        /** Evicted from memory; only its saved state remains */
+        UNLOADED
+    }
+
     private final World world;
     private final int regionX;
     private final int regionZ;
     
-    // Population counts per species in this region
-    private final Map<Identifier, Integer> populationCounts = new HashMap<>();
+    // Population counts indexed by dense species index, plus their sum
+    private int[] populationCounts = new int[0];
+    private int totalPopulation = 0;
     
     // Vegetation/resource level (0.0 to 1.0, affects herbivore carrying capacity)
     private double vegetationLevel = 1.0;
@@ -26,21 +40,48 @@ public class RegionEcosystem {
     private double huntingPressure = 0.0;
     
     // Last update tick
-    private long lastUpdateTick = 0;
+    private long lastUpdateTick;
+    
+    // Whether persisted state changed since the last save
+    private boolean dirty = false;
+    
+    private State state = State.IDLE;
+    
+    // Periodic update handle while active
+    private TrophicScheduler.Handle scheduledUpdate;
 
     public RegionEcosystem(World world, int regionX, int regionZ) {
+        this(world, regionX, regionZ, world.getTime());
+    }
+
+    /**
+     * Creates a region whose elapsed time is counted from the given tick.
+     */
+    public RegionEcosystem(World world, int regionX, int regionZ, long currentTick) {
         this.world = world;
         this.regionX = regionX;
         this.regionZ = regionZ;
+        this.lastUpdateTick = currentTick;
     }
 
     /**
      * Called periodically to update the ecosystem state.
+     * 
+     * Vegetation and hunting pressure are closed-form in the elapsed time, so
+     * this is also used to catch up a region that was idle or unloaded.
      */
     public void tick() {
-        long currentTick = world.getTime();
+        update(world.getTime());
+    }
+
+    /**
+     * Advances the ecosystem state to the given world tick.
+     */
+    public void update(long currentTick) {
         long tickDelta = currentTick - lastUpdateTick;
         lastUpdateTick = currentTick;
+        double previousVegetation = vegetationLevel;
+        double previousPressure = huntingPressure;
         
         // Regenerate vegetation over time
         regenerateVegetation(tickDelta);
@@ -50,6 +91,12 @@ public class RegionEcosystem {
         
         // Apply population dynamics
         applyPopulationDynamics(tickDelta);
+        
+        // A region at rest (full vegetation, no pressure) replays to the same
+        // state from its saved tick, so only a real change needs saving
+        if (vegetationLevel != previousVegetation || huntingPressure != previousPressure) {
+            dirty = true;
+        }
     }
 
     /**
@@ -82,12 +129,11 @@ public class RegionEcosystem {
      * Records a kill event in this region.
      */
     public void recordKill(Identifier predatorId, Identifier preyId) {
-        // Decrease prey population count
-        populationCounts.merge(preyId, -1, Integer::sum);
-        populationCounts.computeIfPresent(preyId, (k, v) -> v <= 0 ? null : v);
+        // The prey's population count is removed by its death, not here
         
         // Increase hunting pressure
         huntingPressure += 0.1;
+        dirty = true;
     }
 
     /**
@@ -96,39 +142,79 @@ public class RegionEcosystem {
     public void recordGrazing(Identifier herbivoreId) {
         // Decrease vegetation level slightly
         vegetationLevel = Math.max(0, vegetationLevel - 0.001);
+        dirty = true;
     }
 
     /**
      * Records a spawn event in this region.
      */
-    public void recordSpawn(Identifier entityId) {
-        populationCounts.merge(entityId, 1, Integer::sum);
+    public void recordSpawn(int speciesIndex) {
+        addToPopulation(speciesIndex);
     }
 
     /**
      * Records a death event in this region.
      */
-    public void recordDeath(Identifier entityId) {
-        populationCounts.merge(entityId, -1, Integer::sum);
-        populationCounts.computeIfPresent(entityId, (k, v) -> v <= 0 ? null : v);
+    public void recordDeath(int speciesIndex) {
+        removeFromPopulation(speciesIndex);
+    }
+
+    /**
+     * Counts an animal that entered this region (loaded, spawned or moved in).
+     * Unregistered species (negative index) are ignored.
+     */
+    public void addToPopulation(int speciesIndex) {
+        if (speciesIndex < 0) {
+            return;
+        }
+        if (speciesIndex >= populationCounts.length) {
+            populationCounts = Arrays.copyOf(populationCounts, speciesIndex + 1);
+        }
+        populationCounts[speciesIndex]++;
+        totalPopulation++;
+    }
+
+    /**
+     * Uncounts an animal that left this region (unloaded, died or moved out).
+     */
+    public void removeFromPopulation(int speciesIndex) {
+        if (speciesIndex < 0 || speciesIndex >= populationCounts.length
+                || populationCounts[speciesIndex] == 0) {
+            return;
+        }
+        populationCounts[speciesIndex]--;
+        totalPopulation--;
     }
 
     /**
      * Gets the current population of a species in this region.
      */
-    public int getPopulation(Identifier entityId) {
-        return populationCounts.getOrDefault(entityId, 0);
+    public int getPopulation(int speciesIndex) {
+        return speciesIndex >= 0 && speciesIndex < populationCounts.length
+                ? populationCounts[speciesIndex] : 0;
     }
 
     /**
      * Sets the population count for a species.
      */
-    public void setPopulation(Identifier entityId, int count) {
-        if (count <= 0) {
-            populationCounts.remove(entityId);
-        } else {
-            populationCounts.put(entityId, count);
+    public void setPopulation(int speciesIndex, int count) {
+        if (speciesIndex < 0) {
+            return;
+        }
+        if (speciesIndex >= populationCounts.length) {
+            populationCounts = Arrays.copyOf(populationCounts, speciesIndex + 1);
         }
+        count = Math.max(0, count);
+        totalPopulation += count - populationCounts[speciesIndex];
+        populationCounts[speciesIndex] = count;
+    }
+
+    /**
+     * Copies the population counts, indexed by species index. Species beyond
+     * the end of the array have no animals in this region.
+     */
+    public int[] snapshotPopulation() {
+        return populationCounts.clone();
     }
 
     /**
@@ -154,17 +240,44 @@ public class RegionEcosystem {
     }
 
     /**
-     * Saves the region ecosystem state.
+     * Snapshots the persisted region state and clears the dirty flag.
+     */
+    public RegionData save() {
+        dirty = false;
+        return new RegionData(vegetationLevel, huntingPressure, lastUpdateTick);
+    }
+
+    /**
+     * Restores previously saved region state.
      */
-    public void save() {
-        // TODO: Implement persistent storage via PersistentState
+    public void load(RegionData data) {
+        vegetationLevel = data.vegetationLevel();
+        huntingPressure = data.huntingPressure();
+        lastUpdateTick = data.lastUpdateTick();
+        dirty = false;
     }
 
     /**
-     * Loads the region ecosystem state.
+     * @return true if the region changed since it was last saved
      */
-    public void load() {
-        // TODO: Implement loading from PersistentState
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    TrophicScheduler.Handle getScheduledUpdate() {
+        return scheduledUpdate;
+    }
+
+    void setScheduledUpdate(TrophicScheduler.Handle scheduledUpdate) {
+        this.scheduledUpdate = scheduledUpdate;
     }
 
     public int getRegionX() {
@@ -183,6 +296,15 @@ public class RegionEcosystem {
      * @return total population across all species in this region
      */
     public int getTotalPopulation() {
-        return populationCounts.values().stream().mapToInt(Integer::intValue).sum();
+        return totalPopulation;
     }
+
+    /**
+     * Immutable snapshot of the persisted region state.
+     */
+    public record RegionData(
+            double vegetationLevel,
+            double huntingPressure,
+            long lastUpdateTick
+    ) {}
 }
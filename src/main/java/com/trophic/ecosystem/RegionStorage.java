@@ -0,0 +1,183 @@
+package com.trophic.ecosystem;
+
+import com.trophic.Trophic;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Binary storage for one dimension's region ecosystems.
+ *
+ * Regions are grouped into files of {@value #FILE_SIZE}x{@value #FILE_SIZE}
+ * regions, in the spirit of Anvil region files. Each file is read once, on
+ * first touch, and kept in memory as a write-through cache; saving a region
+ * updates the cached record and queues an immutable copy of the whole file
+ * for writing on the background executor.
+ *
+ * Only slowly-changing state is stored (vegetation, hunting pressure and the
+ * last update tick). Population counts are rebuilt from entity loads.
+ */
+public class RegionStorage {
+    /** Regions per file along each axis */
+    public static final int FILE_SIZE = 32;
+
+    private static final int MAGIC = 0x54524543; // "TREC"
+    private static final int VERSION = 1;
+    private static final int RECORDS_PER_FILE = FILE_SIZE * FILE_SIZE;
+
+    private final Path directory;
+    private final ExecutorService executor;
+    private final Long2ObjectOpenHashMap<RegionFile> files = new Long2ObjectOpenHashMap<>();
+
+    public RegionStorage(Path directory, ExecutorService executor) {
+        this.directory = directory;
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the stored state of a region.
+     *
+     * @return the stored data, or null if the region was never saved
+     */
+    public RegionEcosystem.RegionData load(int regionX, int regionZ) {
+        return getFile(regionX, regionZ).records[localIndex(regionX, regionZ)];
+    }
+
+    /**
+     * Records a region's state in the cache and marks its file for writing.
+     */
+    public void store(int regionX, int regionZ, RegionEcosystem.RegionData data) {
+        RegionFile file = getFile(regionX, regionZ);
+        file.records[localIndex(regionX, regionZ)] = data;
+        file.dirty = true;
+    }
+
+    /**
+     * Queues every modified file for an asynchronous write.
+     *
+     * @return the number of files queued
+     */
+    public int flush() {
+        int queued = 0;
+        for (RegionFile file : files.values()) {
+            if (!file.dirty) {
+                continue;
+            }
+            file.dirty = false;
+
+            // Records are immutable, so a shallow copy is a consistent snapshot
+            RegionEcosystem.RegionData[] snapshot = file.records.clone();
+            Path path = file.path;
+            executor.execute(() -> write(path, snapshot));
+            queued++;
+        }
+        return queued;
+    }
+
+    private RegionFile getFile(int regionX, int regionZ) {
+        int fileX = Math.floorDiv(regionX, FILE_SIZE);
+        int fileZ = Math.floorDiv(regionZ, FILE_SIZE);
+        long key = ChunkPos.toLong(fileX, fileZ);
+
+        RegionFile file = files.get(key);
+        if (file == null) {
+            file = new RegionFile(directory.resolve("r." + fileX + "." + fileZ + ".eco"));
+            read(file);
+            files.put(key, file);
+        }
+        return file;
+    }
+
+    private static int localIndex(int regionX, int regionZ) {
+        return Math.floorMod(regionX, FILE_SIZE) + Math.floorMod(regionZ, FILE_SIZE) * FILE_SIZE;
+    }
+
+    private static void read(RegionFile file) {
+        if (!Files.exists(file.path)) {
+            return;
+        }
+
+        try (InputStream in = Files.newInputStream(file.path);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            if (data.readInt() != MAGIC) {
+                Trophic.LOGGER.warn("Ignoring ecosystem file with bad header: {}", file.path);
+                return;
+            }
+            int version = data.readInt();
+            if (version != VERSION) {
+                Trophic.LOGGER.warn("Ignoring ecosystem file with unknown version {}: {}", version, file.path);
+                return;
+            }
+
+            int count = data.readInt();
+            for (int i = 0; i < count; i++) {
+                int index = data.readUnsignedShort();
+                double vegetation = data.readDouble();
+                double huntingPressure = data.readDouble();
+                long lastUpdateTick = data.readLong();
+                if (index < RECORDS_PER_FILE) {
+                    file.records[index] = new RegionEcosystem.RegionData(vegetation, huntingPressure, lastUpdateTick);
+                }
+            }
+        } catch (IOException e) {
+            Trophic.LOGGER.error("Failed to read ecosystem file {}", file.path, e);
+        }
+    }
+
+    private static void write(Path path, RegionEcosystem.RegionData[] records) {
+        int count = 0;
+        for (RegionEcosystem.RegionData record : records) {
+            if (record != null) {
+                count++;
+            }
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            try (OutputStream out = Files.newOutputStream(temp);
+                 DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+                data.writeInt(MAGIC);
+                data.writeInt(VERSION);
+                data.writeInt(count);
+                for (int i = 0; i < records.length; i++) {
+                    RegionEcosystem.RegionData record = records[i];
+                    if (record == null) {
+                        continue;
+                    }
+                    data.writeShort(i);
+                    data.writeDouble(record.vegetationLevel());
+                    data.writeDouble(record.huntingPressure());
+                    data.writeLong(record.lastUpdateTick());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Trophic.LOGGER.error("Failed to write ecosystem file {}", path, e);
+        }
+    }
+
+    /**
+     * Cached contents of one region file.
+     */
+    private static final class RegionFile {
+        private final Path path;
+        private final RegionEcosystem.RegionData[] records = new RegionEcosystem.RegionData[RECORDS_PER_FILE];
+        private boolean dirty;
+
+        RegionFile(Path path) {
+            this.path = path;
+        }
+    }
+}
@@ -2,17 +2,27 @@ package com.trophic.mixin;
 
 import com.trophic.Trophic;
 import com.trophic.behavior.EcologicalEntity;
+import com.trophic.behavior.ai.PackCoordinator;
+import com.trophic.behavior.ai.SocialStoreManager;
+import com.trophic.behavior.ai.TerritoryManager;
 import com.trophic.config.TrophicConfig;
-import com.trophic.registry.SpeciesDefinition;
+import com.trophic.ecosystem.EcosystemManager;
+import com.trophic.population.PopulationTracker;
+import com.trophic.registry.ResolvedSpecies;
 import com.trophic.registry.SpeciesRegistry;
+import com.trophic.scheduling.TimingWheel;
+import com.trophic.scheduling.TimingWheelManager;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.passive.AnimalEntity;
 import net.minecraft.entity.passive.PassiveEntity;
 import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.storage.ReadView;
 import net.minecraft.storage.WriteView;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.Uuids;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
@@ -21,6 +31,8 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import java.util.UUID;
+
 /**
  * Mixin to add ecological behavior to all AnimalEntity instances.
  */
@@ -28,20 +40,57 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 public abstract class MixinAnimalEntity extends PassiveEntity implements EcologicalEntity {
     
     // Ecological state
+    // Hunger decays linearly, so it is stored as the value measured at
+    // trophic_hungerTick and evaluated on read
     @Unique
     private double trophic_hunger = 1.0;
     
+    @Unique
+    private long trophic_hungerTick = -1;
+    
+    @Unique
+    private int trophic_hungerVersion = 0;
+    
+    // Last tick this entity ticked; hunger only decays while ticking
+    @Unique
+    private long trophic_lastTick = -1;
+    
+    // Next tick starvation damage may apply, or -1 to reschedule
+    @Unique
+    private long trophic_starvationTick = -1;
+    
     @Unique
     private long trophic_lastMealTick = 0;
     
+    // Pending hunt cooldown, cleared by the world's timing wheel on expiry
     @Unique
-    private int trophic_huntCooldown = 0;
+    private TimingWheel.Timeout trophic_huntCooldown = null;
     
     @Unique
     private boolean trophic_initialized = false;
     
     @Unique
     private BlockPos trophic_homePos = null;
+    
+    @Unique
+    private ResolvedSpecies trophic_species = null;
+    
+    @Unique
+    private int trophic_speciesGeneration = -1;
+    
+    @Unique
+    private long trophic_trackedRegion = PopulationTracker.UNTRACKED;
+    
+    // Social state as last saved; the stores are authoritative while loaded
+    @Unique
+    private UUID trophic_packLeader = null;
+    
+    @Unique
+    private TerritoryManager.Territory trophic_territory = null;
+    
+    // World the social state was captured in; it only applies there
+    @Unique
+    private RegistryKey<World> trophic_socialWorld = null;
 
     protected MixinAnimalEntity(EntityType<? extends PassiveEntity> entityType, World world) {
         super(entityType, world);
@@ -59,19 +108,23 @@ public abstract class MixinAnimalEntity extends PassiveEntity implements Ecologi
             trophic_initialized = true;
         }
         
-        // Update hunger
+        // Advance the hunger clock and apply any due starvation damage
         trophic_updateHunger();
         
-        // Update hunt cooldown
-        if (trophic_huntCooldown > 0) {
-            trophic_huntCooldown--;
+        // Move population count along when crossing a region boundary
+        if (trophic_trackedRegion != PopulationTracker.UNTRACKED) {
+            long regionKey = EcosystemManager.getRegionKey(this.getBlockX(), this.getBlockZ());
+            if (regionKey != trophic_trackedRegion && this.getEntityWorld() instanceof ServerWorld serverWorld) {
+                Trophic.getInstance().getPopulationTracker().onRegionChange(
+                        (AnimalEntity)(Object)this, serverWorld, trophic_trackedRegion, regionKey);
+            }
         }
     }
 
     @Unique
     private void trophic_initialize() {
         // Initialize with random hunger
-        trophic_hunger = 0.5 + this.random.nextDouble() * 0.5;
+        trophic_storeHunger(0.5 + this.random.nextDouble() * 0.5);
         trophic_lastMealTick = this.getEntityWorld().getTime();
         
         // Set home position to spawn location
@@ -82,39 +135,94 @@ public abstract class MixinAnimalEntity extends PassiveEntity implements Ecologi
 
     @Unique
     private void trophic_updateHunger() {
-        Identifier entityId = Registries.ENTITY_TYPE.getId(this.getType());
-        SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
-        SpeciesDefinition species = registry.getSpecies(entityId).orElse(null);
+        long now = this.getEntityWorld().getTime();
+        if (trophic_lastTick < 0) {
+            // First tick: decay starts with this one
+            trophic_hungerTick = now - 1;
+        } else if (now - trophic_lastTick > 1) {
+            // Skipped ticks (e.g. outside simulation distance) do not count
+            trophic_hungerTick += now - trophic_lastTick - 1;
+            trophic_starvationTick = -1;
+        }
+        trophic_lastTick = now;
         
-        if (species == null) {
+        // Refreshes the species, folding hunger if the decay rate changed
+        if (trophic_getSpecies() == null) {
+            return;
+        }
+
+        if (trophic_starvationTick < 0) {
+            trophic_scheduleStarvation(now);
+        }
+        if (now < trophic_starvationTick) {
             return;
         }
-        
-        TrophicConfig.HungerConfig config = TrophicConfig.get().hunger;
-        
-        // Decrease hunger over time (metabolic cost)
-        double hungerDecayRate = config.decayRatePerSecond / 20.0;
-        
-        // Trophic level scaling
-        hungerDecayRate *= 1.0 + (species.getTrophicLevel() - 1) * config.trophicLevelScaling;
-        
-        trophic_hunger = Math.max(0.0, trophic_hunger - hungerDecayRate);
         
         // Apply starvation damage if hunger is critically low
-        if (trophic_hunger <= config.starvationDamageThreshold && 
-            this.getEntityWorld().getTime() % config.starvationDamageInterval == 0) {
+        TrophicConfig.HungerConfig config = TrophicConfig.get().hunger;
+        if (trophic_getHunger() <= config.starvationDamageThreshold && now % config.starvationDamageInterval == 0) {
             if (this.getEntityWorld() instanceof ServerWorld serverWorld) {
                 ((AnimalEntity)(Object)this).damage(serverWorld, this.getDamageSources().starve(), 1.0f);
             }
         }
+        trophic_scheduleStarvation(now + 1);
+    }
+    
+    /**
+     * Finds the first damage interval tick at or after {@code from} on which
+     * hunger will be at or below the starvation threshold.
+     */
+    @Unique
+    private void trophic_scheduleStarvation(long from) {
+        TrophicConfig.HungerConfig config = TrophicConfig.get().hunger;
+        ResolvedSpecies species = trophic_species;
+        double decay = species != null ? species.getHungerDecayPerTick() : 0.0;
+        double excess = trophic_hungerAt(from) - config.starvationDamageThreshold;
+        
+        long crossing;
+        if (excess <= 0) {
+            crossing = from;
+        } else if (species == null || decay <= 0) {
+            crossing = Long.MAX_VALUE;
+        } else {
+            crossing = from + (long) Math.ceil(excess / decay);
+        }
+        
+        long interval = Math.max(1, config.starvationDamageInterval);
+        trophic_starvationTick = crossing == Long.MAX_VALUE
+                ? Long.MAX_VALUE
+                : Math.floorDiv(crossing + interval - 1, interval) * interval;
+    }
+    
+    /**
+     * Evaluates hunger as of a tick, assuming the entity ticks until then.
+     */
+    @Unique
+    private double trophic_hungerAt(long tick) {
+        ResolvedSpecies species = trophic_species;
+        if (species == null || trophic_hungerTick < 0 || tick <= trophic_hungerTick) {
+            return trophic_hunger;
+        }
+        return Math.max(0.0, trophic_hunger - species.getHungerDecayPerTick() * (tick - trophic_hungerTick));
+    }
+    
+    /**
+     * Stores a new hunger value as of the last tick this entity ticked.
+     */
+    @Unique
+    private void trophic_storeHunger(double hunger) {
+        trophic_hunger = hunger;
+        trophic_hungerTick = trophic_lastTick;
+        trophic_starvationTick = -1;
+        trophic_hungerVersion++;
     }
 
     @Inject(method = "writeCustomData", at = @At("TAIL"))
     private void trophic_writeData(WriteView view, CallbackInfo ci) {
         WriteView trophicView = view.get("trophic");
-        trophicView.putDouble("hunger", trophic_hunger);
+        trophicView.putDouble("hunger", trophic_getHunger());
         trophicView.putLong("lastMeal", trophic_lastMealTick);
-        trophicView.putInt("huntCooldown", trophic_huntCooldown);
+        trophicView.putInt("huntCooldown", trophic_getHuntCooldown());
         
         // Save home position
         if (trophic_homePos != null) {
@@ -122,14 +230,72 @@ public abstract class MixinAnimalEntity extends PassiveEntity implements Ecologi
             trophicView.putInt("homeY", trophic_homePos.getY());
             trophicView.putInt("homeZ", trophic_homePos.getZ());
         }
+        
+        // Save pack and territory so they are restored rather than rediscovered
+        trophic_captureSocialState();
+        if (trophic_socialWorld != null && (trophic_packLeader != null || trophic_territory != null)) {
+            trophicView.putString("socialWorld", trophic_socialWorld.getValue().toString());
+        }
+        if (trophic_packLeader != null) {
+            trophicView.put("packLeader", Uuids.INT_STREAM_CODEC, trophic_packLeader);
+        }
+        if (trophic_territory != null) {
+            WriteView territoryView = trophicView.get("territory");
+            territoryView.putInt("x", trophic_territory.center().getX());
+            territoryView.putInt("y", trophic_territory.center().getY());
+            territoryView.putInt("z", trophic_territory.center().getZ());
+            territoryView.putInt("radius", trophic_territory.radius());
+            territoryView.putLong("claimTime", trophic_territory.claimTime());
+        }
+    }
+    
+    @Override
+    public void trophic_captureSocialState() {
+        if (!(this.getEntityWorld() instanceof ServerWorld serverWorld)) {
+            return;
+        }
+        SocialStoreManager stores = Trophic.getInstance().getSocialStoreManager();
+        UUID leaderId = stores.getPackStore(serverWorld).getLeader(this.getUuid());
+        TerritoryManager.Territory territory = stores.getTerritoryStore(serverWorld)
+                .get(this.getUuid()).orElse(null);
+        
+        // Unloaded animals are already out of the stores; keep what was last seen
+        if (leaderId == null && territory == null && this.isRemoved()) {
+            return;
+        }
+        
+        // The stores are authoritative while the animal is in the world, so a
+        // dropped pack or claim is cleared here too
+        trophic_packLeader = leaderId;
+        trophic_territory = territory;
+        trophic_socialWorld = serverWorld.getRegistryKey();
+    }
+    
+    @Override
+    public void trophic_restoreSocialState() {
+        if (!(this.getEntityWorld() instanceof ServerWorld serverWorld)) {
+            return;
+        }
+        
+        // State captured in another dimension (or before worlds were
+        // recorded) refers to that world's coordinates and animals
+        if (!serverWorld.getRegistryKey().equals(trophic_socialWorld)) {
+            trophic_packLeader = null;
+            trophic_territory = null;
+            trophic_socialWorld = null;
+            return;
+        }
+        
+        PackCoordinator.onEntityLoaded((AnimalEntity)(Object)this);
+        TerritoryManager.onEntityLoaded((AnimalEntity)(Object)this);
     }
 
     @Inject(method = "readCustomData", at = @At("TAIL"))
     private void trophic_readData(ReadView view, CallbackInfo ci) {
         view.getOptionalReadView("trophic").ifPresent(trophicView -> {
-            trophic_hunger = trophicView.getDouble("hunger", 1.0);
+            trophic_storeHunger(trophicView.getDouble("hunger", 1.0));
             trophic_lastMealTick = trophicView.getLong("lastMeal", 0L);
-            trophic_huntCooldown = trophicView.getInt("huntCooldown", 0);
+            trophic_setHuntCooldown(trophicView.getInt("huntCooldown", 0));
             
             // Load home position
             int homeX = trophicView.getInt("homeX", Integer.MIN_VALUE);
@@ -139,6 +305,25 @@ public abstract class MixinAnimalEntity extends PassiveEntity implements Ecologi
                 trophic_homePos = new BlockPos(homeX, homeY, homeZ);
             }
             
+            // Load pack and territory, restored into the stores on entity load
+            trophic_socialWorld = trophicView.getOptionalString("socialWorld")
+                    .map(Identifier::tryParse)
+                    .map(id -> RegistryKey.of(RegistryKeys.WORLD, id))
+                    .orElse(null);
+            trophic_packLeader = trophicView.read("packLeader", Uuids.INT_STREAM_CODEC).orElse(null);
+            trophicView.getOptionalReadView("territory").ifPresent(territoryView -> {
+                BlockPos center = new BlockPos(
+                        territoryView.getInt("x", 0),
+                        territoryView.getInt("y", 64),
+                        territoryView.getInt("z", 0));
+                trophic_territory = new TerritoryManager.Territory(
+                        this.getUuid(),
+                        Registries.ENTITY_TYPE.getId(this.getType()),
+                        center,
+                        territoryView.getInt("radius", 0),
+                        territoryView.getLong("claimTime", 0L));
+            });
+            
             trophic_initialized = true;
         });
     }
@@ -147,12 +332,30 @@ public abstract class MixinAnimalEntity extends PassiveEntity implements Ecologi
     
     @Override
     public double trophic_getHunger() {
-        return trophic_hunger;
+        // Refresh the species first so a changed decay rate is folded in
+        trophic_getSpecies();
+        return trophic_hungerAt(trophic_lastTick);
+    }
+
+    @Override
+    public long trophic_getTicksUntilHunger(double level) {
+        double excess = trophic_getHunger() - level;
+        if (excess <= 0) {
+            return 0;
+        }
+        ResolvedSpecies species = trophic_species;
+        double decay = species != null ? species.getHungerDecayPerTick() : 0.0;
+        return decay > 0 ? (long) Math.ceil(excess / decay) : Long.MAX_VALUE;
+    }
+    
+    @Override
+    public int trophic_getHungerVersion() {
+        return trophic_hungerVersion;
     }
 
     @Override
     public void trophic_setHunger(double hunger) {
-        this.trophic_hunger = Math.max(0.0, Math.min(1.0, hunger));
+        trophic_storeHunger(Math.max(0.0, Math.min(1.0, hunger)));
     }
 
     @Override
@@ -160,33 +363,42 @@ public abstract class MixinAnimalEntity extends PassiveEntity implements Ecologi
         // Convert nutritional value to hunger restoration
         // Base: 100 nutrition = full restoration
         double restoration = nutritionalValue / 100.0;
-        trophic_hunger = Math.min(1.0, trophic_hunger + restoration);
+        trophic_storeHunger(Math.min(1.0, trophic_getHunger() + restoration));
         trophic_lastMealTick = this.getEntityWorld().getTime();
     }
 
     @Override
     public boolean trophic_isHungry() {
-        return trophic_hunger < TrophicConfig.get().hunger.hungryThreshold;
+        return trophic_getHunger() < TrophicConfig.get().hunger.hungryThreshold;
     }
 
     @Override
     public boolean trophic_isStarving() {
-        return trophic_hunger < TrophicConfig.get().hunger.starvingThreshold;
+        return trophic_getHunger() < TrophicConfig.get().hunger.starvingThreshold;
     }
 
     @Override
     public int trophic_getHuntCooldown() {
-        return trophic_huntCooldown;
+        TimingWheel.Timeout cooldown = trophic_huntCooldown;
+        if (cooldown == null || !cooldown.isPending()) {
+            return 0;
+        }
+        return (int) Math.max(0, cooldown.getDeadline() - this.getEntityWorld().getTime());
     }
 
     @Override
     public void trophic_setHuntCooldown(int ticks) {
-        this.trophic_huntCooldown = ticks;
+        if (trophic_huntCooldown != null) {
+            trophic_huntCooldown.cancel();
+        }
+        trophic_huntCooldown = ticks > 0
+                ? TimingWheelManager.after(this, ticks, () -> trophic_huntCooldown = null)
+                : null;
     }
 
     @Override
     public boolean trophic_canHunt() {
-        return trophic_huntCooldown <= 0 && trophic_isHungry();
+        return trophic_huntCooldown == null && trophic_isHungry();
     }
 
     @Override
@@ -209,4 +421,38 @@ public abstract class MixinAnimalEntity extends PassiveEntity implements Ecologi
         // Could be species-specific in the future
         return TrophicConfig.get().homeRange.defaultRange;
     }
+    
+    @Override
+    public ResolvedSpecies trophic_getSpecies() {
+        SpeciesRegistry registry = Trophic.getInstance().getSpeciesRegistry();
+        if (trophic_speciesGeneration != registry.getGeneration()) {
+            // Fold hunger at the old decay rate before the rate can change
+            if (trophic_species != null && trophic_lastTick >= 0) {
+                trophic_storeHunger(trophic_hungerAt(trophic_lastTick));
+            }
+            trophic_species = registry.resolve(this.getType());
+            trophic_speciesGeneration = registry.getGeneration();
+        }
+        return trophic_species;
+    }
+    
+    @Override
+    public long trophic_getTrackedRegion() {
+        return trophic_trackedRegion;
+    }
+    
+    @Override
+    public void trophic_setTrackedRegion(long regionKey) {
+        this.trophic_trackedRegion = regionKey;
+    }
+    
+    @Override
+    public UUID trophic_getSavedPackLeader() {
+        return trophic_packLeader;
+    }
+    
+    @Override
+    public TerritoryManager.Territory trophic_getSavedTerritory() {
+        return trophic_territory;
+    }
 }
@@ -1,6 +1,8 @@
 package com.trophic.mixin;
 
 import com.trophic.Trophic;
+import com.trophic.behavior.ai.PackCoordinator;
+import com.trophic.behavior.ai.TerritoryManager;
 import com.trophic.ecosystem.EcosystemManager;
 import com.trophic.ecosystem.RegionEcosystem;
 import net.minecraft.entity.LivingEntity;
@@ -36,6 +38,10 @@ public abstract class MixinLivingEntity {
         // Track death in population system
         Trophic.getInstance().getPopulationTracker().onEntityDeath(animal);
         
+        // Leave the pack and free the territory for rivals
+        PackCoordinator.onEntityRemoved(animal.getEntityWorld(), animal.getUuid());
+        TerritoryManager.onEntityRemoved(animal.getEntityWorld(), animal.getUuid());
+        
         // Track predation in ecosystem
         if (damageSource.getAttacker() instanceof AnimalEntity predator) {
             trackPredation(predator, animal);
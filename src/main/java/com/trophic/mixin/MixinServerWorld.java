@@ -0,0 +1,25 @@
+package com.trophic.mixin;
+
+import com.trophic.Trophic;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to feed block changes into the forage food map and the chunk graph.
+ */
+@Mixin(ServerWorld.class)
+public abstract class MixinServerWorld {
+
+    @Inject(method = "onBlockChanged", at = @At("HEAD"))
+    private void trophic_onBlockChanged(BlockPos pos, BlockState oldBlock, BlockState newBlock, CallbackInfo ci) {
+        Trophic.getInstance().getFoodMapManager()
+                .onBlockChanged((ServerWorld)(Object)this, pos, oldBlock, newBlock);
+        Trophic.getInstance().getChunkGraphManager()
+                .onBlockChanged((ServerWorld)(Object)this, pos);
+    }
+}
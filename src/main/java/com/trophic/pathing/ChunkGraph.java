@@ -0,0 +1,387 @@
+package com.trophic.pathing;
+
+import com.trophic.config.TrophicConfig;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Coarse walkability graph over a world's loaded chunks, used to route long
+ * movements before any block-level pathfinding is done.
+ *
+ * Each loaded chunk is a node. Its surface is summarised from the heightmap
+ * the first time a route needs it: which columns can be stood on, and at what
+ * height. Two neighbouring chunks are connected when at least one pair of
+ * facing border columns is walkable with a step of at most one block; the
+ * crossing closest to the middle of the border is the edge's portal. Routes
+ * are found with A* over this graph, in the spirit of HPA*, so vanilla
+ * pathfinding only ever runs from one portal to the next.
+ *
+ * Routes lead to a destination cell of {@value #CELL_SIZE}x{@value #CELL_SIZE}
+ * chunks and are cached as next hops per destination cell. An animal standing
+ * in any chunk of a cached route toward the same cell reuses it, which is how
+ * a herd heading the same way shares a single search. Cached hops are checked
+ * against the graph before use, so block changes and unloads repair routes
+ * lazily instead of invalidating the whole cache.
+ *
+ * Server thread only.
+ */
+public class ChunkGraph {
+    /** Chunks per destination cell along each axis */
+    public static final int CELL_SIZE = 4;
+
+    private static final int CELL_SHIFT = 2;
+    private static final int COLUMNS = 256;
+    /** Base cost of crossing one chunk */
+    private static final int STEP_COST = 16;
+    /** Maximum height difference between facing border columns */
+    private static final int MAX_STEP = 1;
+
+    // Neighbour offsets: east, west, south, north
+    private static final int[] DX = {1, -1, 0, 0};
+    private static final int[] DZ = {0, 0, 1, -1};
+    // Border offsets, closest to the middle of the border first
+    private static final int[] BORDER_ORDER = {8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15, 0};
+
+    private final Long2ObjectOpenHashMap<ChunkNode> nodes = new Long2ObjectOpenHashMap<>();
+    // Next hop toward a destination cell, keyed by cell and then by chunk
+    private final Long2ObjectOpenHashMap<Long2LongOpenHashMap> nextHops = new Long2ObjectOpenHashMap<>();
+
+    private long routesComputed;
+    private long routeCacheHits;
+
+    /**
+     * Registers a loaded chunk. Its surface is summarised lazily.
+     */
+    public void onChunkLoad(WorldChunk chunk) {
+        nodes.put(chunk.getPos().toLong(), new ChunkNode(chunk));
+    }
+
+    /**
+     * Forgets an unloaded chunk.
+     */
+    public void onChunkUnload(WorldChunk chunk) {
+        nodes.remove(chunk.getPos().toLong());
+    }
+
+    /**
+     * Marks a chunk for re-summarising when a block near its surface changes.
+     */
+    public void onBlockChanged(BlockPos pos) {
+        ChunkNode node = nodes.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (node == null || node.dirty) {
+            return;
+        }
+
+        // Blocks well below the surface cannot change where animals walk
+        int column = (pos.getX() & 15) | (pos.getZ() & 15) << 4;
+        if (pos.getY() >= node.heights[column] - 1) {
+            node.dirty = true;
+        }
+    }
+
+    /**
+     * Finds the next portal on the route from a position toward a destination.
+     *
+     * @return the standing position just inside the next chunk on the route,
+     *         or null if the position is already in the destination cell or no
+     *         route through loaded chunks makes progress
+     */
+    public BlockPos nextWaypoint(BlockPos from, BlockPos destination) {
+        long start = ChunkPos.toLong(from.getX() >> 4, from.getZ() >> 4);
+        long goalCell = cellOf(destination.getX() >> 4, destination.getZ() >> 4);
+        if (cellOf(start) == goalCell) {
+            return null;
+        }
+
+        Long2LongOpenHashMap hops = nextHops.get(goalCell);
+        if (hops != null && hops.containsKey(start)) {
+            BlockPos portal = portal(start, hops.get(start));
+            if (portal != null) {
+                routeCacheHits++;
+                return portal;
+            }
+            // The cached hop broke; forget the whole route and search again
+            nextHops.remove(goalCell);
+        }
+
+        findRoute(start, goalCell);
+        hops = nextHops.get(goalCell);
+        if (hops == null || !hops.containsKey(start)) {
+            return null;
+        }
+        return portal(start, hops.get(start));
+    }
+
+    /**
+     * Checks whether a destination can be reached through loaded chunks.
+     * Positions outside the graph are assumed reachable, since nothing is
+     * known about them yet.
+     *
+     * @return false only if the search ran out of loaded chunks before
+     *         reaching the destination cell
+     */
+    public boolean isReachable(BlockPos from, BlockPos destination) {
+        long start = ChunkPos.toLong(from.getX() >> 4, from.getZ() >> 4);
+        long goalCell = cellOf(destination.getX() >> 4, destination.getZ() >> 4);
+        if (cellOf(start) == goalCell || !nodes.containsKey(start)) {
+            return true;
+        }
+
+        Long2LongOpenHashMap hops = nextHops.get(goalCell);
+        if (hops != null && hops.containsKey(start)) {
+            return true;
+        }
+        return findRoute(start, goalCell) != RouteResult.UNREACHABLE;
+    }
+
+    private enum RouteResult {
+        /** The destination cell was reached */
+        FOUND,
+        /** The node limit was hit; the best partial route was cached */
+        PARTIAL,
+        /** Every reachable loaded chunk was searched without success */
+        UNREACHABLE
+    }
+
+    private record OpenEntry(long key, int cost, int priority) {}
+
+    /**
+     * Runs A* from a chunk to a destination cell and caches the next hops of
+     * the best route found. If the cell is not reached, the route to the
+     * searched chunk closest to it is cached instead.
+     */
+    private RouteResult findRoute(long start, long goalCell) {
+        routesComputed++;
+
+        ChunkNode startNode = getFresh(start);
+        if (startNode == null) {
+            return RouteResult.UNREACHABLE;
+        }
+
+        int maxNodes = TrophicConfig.get().pathing.routeMaxNodes;
+        Long2IntOpenHashMap costs = new Long2IntOpenHashMap();
+        costs.defaultReturnValue(Integer.MAX_VALUE);
+        Long2LongOpenHashMap parents = new Long2LongOpenHashMap();
+        PriorityQueue<OpenEntry> open = new PriorityQueue<>(Comparator.comparingInt(OpenEntry::priority));
+
+        costs.put(start, 0);
+        open.add(new OpenEntry(start, 0, heuristic(start, goalCell)));
+
+        long best = start;
+        int bestHeuristic = heuristic(start, goalCell);
+        int expanded = 0;
+        boolean found = false;
+
+        while (!open.isEmpty()) {
+            OpenEntry entry = open.poll();
+            if (entry.cost > costs.get(entry.key)) {
+                continue; // Stale entry
+            }
+            if (cellOf(entry.key) == goalCell) {
+                best = entry.key;
+                found = true;
+                break;
+            }
+            if (expanded++ >= maxNodes) {
+                break;
+            }
+
+            int h = heuristic(entry.key, goalCell);
+            if (h < bestHeuristic) {
+                best = entry.key;
+                bestHeuristic = h;
+            }
+
+            ChunkNode node = getFresh(entry.key);
+            int x = ChunkPos.getPackedX(entry.key);
+            int z = ChunkPos.getPackedZ(entry.key);
+            for (int direction = 0; direction < 4; direction++) {
+                long next = ChunkPos.toLong(x + DX[direction], z + DZ[direction]);
+                ChunkNode neighbor = getFresh(next);
+                if (neighbor == null || findCrossing(node, neighbor, direction) < 0) {
+                    continue;
+                }
+
+                // Chunks with little walkable ground are worth avoiding
+                int cost = entry.cost + STEP_COST + (COLUMNS - neighbor.walkableCount) / 16;
+                if (cost < costs.get(next)) {
+                    costs.put(next, cost);
+                    parents.put(next, entry.key);
+                    open.add(new OpenEntry(next, cost, cost + heuristic(next, goalCell)));
+                }
+            }
+        }
+
+        if (best != start) {
+            Long2LongOpenHashMap hops = hopsFor(goalCell);
+            for (long hop = best; hop != start; ) {
+                long previous = parents.get(hop);
+                hops.put(previous, hop);
+                hop = previous;
+            }
+        }
+
+        if (found) {
+            return RouteResult.FOUND;
+        }
+        return open.isEmpty() ? RouteResult.UNREACHABLE : RouteResult.PARTIAL;
+    }
+
+    private Long2LongOpenHashMap hopsFor(long goalCell) {
+        Long2LongOpenHashMap hops = nextHops.get(goalCell);
+        if (hops == null) {
+            if (nextHops.size() >= TrophicConfig.get().pathing.routeCacheSize) {
+                nextHops.clear();
+            }
+            hops = new Long2LongOpenHashMap();
+            nextHops.put(goalCell, hops);
+        }
+        return hops;
+    }
+
+    /**
+     * @return the portal from one chunk into a neighbour, or null if they are
+     *         no longer connected
+     */
+    private BlockPos portal(long from, long to) {
+        ChunkNode fromNode = getFresh(from);
+        ChunkNode toNode = getFresh(to);
+        if (fromNode == null || toNode == null) {
+            return null;
+        }
+
+        int dx = ChunkPos.getPackedX(to) - ChunkPos.getPackedX(from);
+        int dz = ChunkPos.getPackedZ(to) - ChunkPos.getPackedZ(from);
+        int direction = dx > 0 ? 0 : dx < 0 ? 1 : dz > 0 ? 2 : 3;
+        int column = findCrossing(fromNode, toNode, direction);
+        if (column < 0) {
+            return null;
+        }
+
+        ChunkPos pos = toNode.chunk.getPos();
+        return new BlockPos(pos.getStartX() + (column & 15), toNode.heights[column], pos.getStartZ() + (column >> 4));
+    }
+
+    /**
+     * Finds a walkable crossing between facing border columns.
+     *
+     * @return the column index in {@code to}, or -1 if the chunks are not connected
+     */
+    private static int findCrossing(ChunkNode from, ChunkNode to, int direction) {
+        for (int offset : BORDER_ORDER) {
+            int a = borderColumn(direction, offset, true);
+            int b = borderColumn(direction, offset, false);
+            if (from.walkable[a] && to.walkable[b]
+                    && Math.abs(from.heights[a] - to.heights[b]) <= MAX_STEP) {
+                return b;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param leaving true for the border of the chunk being left, false for
+     *                the facing border of the chunk being entered
+     */
+    private static int borderColumn(int direction, int offset, boolean leaving) {
+        int edge = leaving == (direction % 2 == 0) ? 15 : 0;
+        return direction < 2 ? edge | offset << 4 : offset | edge << 4;
+    }
+
+    /**
+     * Lower bound on the cost from a chunk to the nearest chunk of a cell.
+     */
+    private static int heuristic(long chunk, long goalCell) {
+        int x = ChunkPos.getPackedX(chunk);
+        int z = ChunkPos.getPackedZ(chunk);
+        int minX = ChunkPos.getPackedX(goalCell) << CELL_SHIFT;
+        int minZ = ChunkPos.getPackedZ(goalCell) << CELL_SHIFT;
+        int dx = Math.max(0, Math.max(minX - x, x - (minX + CELL_SIZE - 1)));
+        int dz = Math.max(0, Math.max(minZ - z, z - (minZ + CELL_SIZE - 1)));
+        return (dx + dz) * STEP_COST;
+    }
+
+    private static long cellOf(int chunkX, int chunkZ) {
+        return ChunkPos.toLong(chunkX >> CELL_SHIFT, chunkZ >> CELL_SHIFT);
+    }
+
+    private static long cellOf(long chunk) {
+        return cellOf(ChunkPos.getPackedX(chunk), ChunkPos.getPackedZ(chunk));
+    }
+
+    private ChunkNode getFresh(long key) {
+        ChunkNode node = nodes.get(key);
+        if (node != null && node.dirty) {
+            node.summarise();
+        }
+        return node;
+    }
+
+    /**
+     * @return the number of loaded chunks in the graph
+     */
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * @return the number of route searches since startup
+     */
+    public long getRoutesComputed() {
+        return routesComputed;
+    }
+
+    /**
+     * @return the number of next hops served from the route cache
+     */
+    public long getRouteCacheHits() {
+        return routeCacheHits;
+    }
+
+    /**
+     * Surface summary of one loaded chunk.
+     */
+    private static final class ChunkNode {
+        private final WorldChunk chunk;
+        // Standing height and walkability per column, indexed x | z << 4
+        private final int[] heights = new int[COLUMNS];
+        private final boolean[] walkable = new boolean[COLUMNS];
+        private int walkableCount;
+        private boolean dirty = true;
+
+        ChunkNode(WorldChunk chunk) {
+            this.chunk = chunk;
+        }
+
+        void summarise() {
+            int startX = chunk.getPos().getStartX();
+            int startZ = chunk.getPos().getStartZ();
+            BlockPos.Mutable pos = new BlockPos.Mutable();
+
+            walkableCount = 0;
+            for (int column = 0; column < COLUMNS; column++) {
+                int x = column & 15;
+                int z = column >> 4;
+                int top = chunk.sampleHeightmap(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z);
+                BlockState surface = chunk.getBlockState(pos.set(startX + x, top, startZ + z));
+
+                // Water and lava surfaces are not walkable ground
+                heights[column] = top + 1;
+                walkable[column] = !surface.isAir() && surface.getFluidState().isEmpty();
+                if (walkable[column]) {
+                    walkableCount++;
+                }
+            }
+            dirty = false;
+        }
+    }
+}
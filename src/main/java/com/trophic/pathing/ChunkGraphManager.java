@@ -0,0 +1,84 @@
+package com.trophic.pathing;
+
+import com.trophic.Trophic;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Owns one {@link ChunkGraph} per server world and keeps it in sync with chunk
+ * load/unload events. Block changes are fed in from {@code MixinServerWorld}.
+ */
+public class ChunkGraphManager {
+    private final Map<ServerWorld, ChunkGraph> graphs = new HashMap<>();
+
+    /**
+     * Registers event handlers that maintain the graphs.
+     */
+    public void register() {
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> get(world).onChunkLoad(chunk));
+
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            ChunkGraph graph = graphs.get(world);
+            if (graph != null) {
+                graph.onChunkUnload(chunk);
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> graphs.remove(world));
+
+        Trophic.LOGGER.info("ChunkGraphManager registered");
+    }
+
+    /**
+     * Gets the graph for a world, creating it if needed.
+     */
+    public ChunkGraph get(ServerWorld world) {
+        return graphs.computeIfAbsent(world, k -> new ChunkGraph());
+    }
+
+    /**
+     * Gets the graph for an entity's world.
+     *
+     * @return the graph, or null if the entity is not in a server world
+     */
+    public static ChunkGraph of(Entity entity) {
+        if (entity.getEntityWorld() instanceof ServerWorld serverWorld) {
+            return Trophic.getInstance().getChunkGraphManager().get(serverWorld);
+        }
+        return null;
+    }
+
+    /**
+     * Called whenever a block state changes in a server world.
+     */
+    public void onBlockChanged(ServerWorld world, BlockPos pos) {
+        ChunkGraph graph = graphs.get(world);
+        if (graph != null) {
+            graph.onBlockChanged(pos);
+        }
+    }
+
+    /**
+     * @return the total number of route searches across all worlds
+     */
+    public long getRoutesComputed() {
+        return graphs.values().stream()
+                .mapToLong(ChunkGraph::getRoutesComputed)
+                .sum();
+    }
+
+    /**
+     * @return the total number of cached next hops served across all worlds
+     */
+    public long getRouteCacheHits() {
+        return graphs.values().stream()
+                .mapToLong(ChunkGraph::getRouteCacheHits)
+                .sum();
+    }
+}
@@ -0,0 +1,252 @@
+package com.trophic.pathing;
+
+import com.trophic.Trophic;
+import com.trophic.config.TrophicConfig;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.ai.pathing.Path;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayDeque;
+
+/**
+ * Central queue for AI pathfinding.
+ *
+ * Goals submit path requests instead of calling {@code findPathTo} directly.
+ * Requests are processed at the end of each server tick in priority order
+ * until the per-tick time or path budget runs out; anything left over waits
+ * for the next tick. Each entity has at most one pending request - a new
+ * request supersedes the old one.
+ *
+ * Results are delivered through a {@link Callback} on the server thread.
+ */
+public class PathScheduler {
+
+    /**
+     * Request priority classes, highest first.
+     */
+    public enum Priority {
+        FLEE,
+        HUNT,
+        FORAGE,
+        ROUTINE
+    }
+
+    /**
+     * Outcome of a path request.
+     */
+    public enum Status {
+        /** A path was found to one of the targets */
+        FOUND,
+        /** No target was reachable */
+        FAILED,
+        /** A newer request for the same entity replaced this one */
+        SUPERSEDED,
+        /** The request waited too long or its entity is gone */
+        EXPIRED
+    }
+
+    /**
+     * Receives the result of a path request.
+     */
+    @FunctionalInterface
+    public interface Callback {
+        /**
+         * @param status the outcome
+         * @param path the path, or null unless status is {@link Status#FOUND}
+         * @param targetIndex index of the target the path leads to, or -1
+         */
+        void onPathResult(Status status, Path path, int targetIndex);
+    }
+
+    /**
+     * Handle for a submitted request.
+     */
+    public static final class Request {
+        private final MobEntity entity;
+        private final Priority priority;
+        private final long[] targets;
+        private final int distance;
+        private final Callback callback;
+        private final long submittedTick;
+        private int cursor;
+        private boolean done;
+
+        private Request(MobEntity entity, Priority priority, long[] targets, int distance,
+                        Callback callback, long submittedTick) {
+            this.entity = entity;
+            this.priority = priority;
+            this.targets = targets;
+            this.distance = distance;
+            this.callback = callback;
+            this.submittedTick = submittedTick;
+        }
+
+        /**
+         * @return true once a result has been delivered or the request was cancelled
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * @return the target at the given index
+         */
+        public BlockPos getTarget(int index) {
+            return BlockPos.fromLong(targets[index]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Request>[] queues = new ArrayDeque[Priority.values().length];
+    private final Reference2ObjectOpenHashMap<MobEntity, Request> pending = new Reference2ObjectOpenHashMap<>();
+
+    private long tickCounter;
+    private int lastTickPaths;
+    private long totalPaths;
+    private long totalRequests;
+
+    public PathScheduler() {
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Registers the tick handler that drains the queue.
+     */
+    public void register() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> tick());
+
+        Trophic.LOGGER.info("PathScheduler registered");
+    }
+
+    /**
+     * Submits a path request to a single target.
+     */
+    public Request request(MobEntity entity, Priority priority, BlockPos target, int distance, Callback callback) {
+        return request(entity, priority, new long[]{target.asLong()}, distance, callback);
+    }
+
+    /**
+     * Submits a path request with candidate targets in order of preference.
+     * The first reachable candidate wins.
+     *
+     * @param targets packed {@link BlockPos} longs
+     * @param distance how close the path must get to the target
+     */
+    public Request request(MobEntity entity, Priority priority, long[] targets, int distance, Callback callback) {
+        Request previous = pending.get(entity);
+        if (previous != null) {
+            finish(previous, Status.SUPERSEDED, null, -1);
+        }
+
+        Request request = new Request(entity, priority, targets, distance, callback, tickCounter);
+        totalRequests++;
+
+        if (targets.length == 0) {
+            request.done = true;
+            callback.onPathResult(Status.FAILED, null, -1);
+            return request;
+        }
+
+        pending.put(entity, request);
+        queues[priority.ordinal()].addLast(request);
+        return request;
+    }
+
+    /**
+     * Cancels a request without delivering a result.
+     */
+    public void cancel(Request request) {
+        if (request == null || request.done) {
+            return;
+        }
+        request.done = true;
+        pending.remove(request.entity, request);
+    }
+
+    /**
+     * Processes queued requests within the configured budget.
+     */
+    public void tick() {
+        tickCounter++;
+
+        TrophicConfig.PathingConfig config = TrophicConfig.get().pathing;
+        long deadline = System.nanoTime() + (long) (config.tickBudgetMs * 1_000_000L);
+        int paths = 0;
+
+        outer:
+        for (ArrayDeque<Request> queue : queues) {
+            while (!queue.isEmpty()) {
+                Request request = queue.peekFirst();
+                if (request.done) {
+                    queue.pollFirst();
+                    continue;
+                }
+
+                MobEntity entity = request.entity;
+                if (!entity.isAlive() || tickCounter - request.submittedTick > config.maxRequestAge) {
+                    queue.pollFirst();
+                    finish(request, Status.EXPIRED, null, -1);
+                    continue;
+                }
+
+                // Always make progress on at least one path per tick
+                if (paths > 0 && (paths >= config.maxPathsPerTick || System.nanoTime() >= deadline)) {
+                    break outer;
+                }
+
+                int index = request.cursor++;
+                Path path = entity.getNavigation().findPathTo(request.getTarget(index), request.distance);
+                paths++;
+
+                if (path != null) {
+                    queue.pollFirst();
+                    finish(request, Status.FOUND, path, index);
+                } else if (request.cursor >= request.targets.length) {
+                    queue.pollFirst();
+                    finish(request, Status.FAILED, null, -1);
+                }
+            }
+        }
+
+        lastTickPaths = paths;
+        totalPaths += paths;
+    }
+
+    private void finish(Request request, Status status, Path path, int targetIndex) {
+        request.done = true;
+        pending.remove(request.entity, request);
+        request.callback.onPathResult(status, path, targetIndex);
+    }
+
+    /**
+     * @return the number of requests waiting for a result
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return the number of paths computed in the last tick
+     */
+    public int getLastTickPaths() {
+        return lastTickPaths;
+    }
+
+    /**
+     * @return the number of paths computed since startup
+     */
+    public long getTotalPaths() {
+        return totalPaths;
+    }
+
+    /**
+     * @return the number of requests submitted since startup
+     */
+    public long getTotalRequests() {
+        return totalRequests;
+    }
+}
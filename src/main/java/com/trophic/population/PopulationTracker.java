@@ -1,34 +1,76 @@
 package com.trophic.population;
 
 import com.trophic.Trophic;
+import com.trophic.behavior.EcologicalEntity;
+import com.trophic.config.TrophicConfig;
 import com.trophic.ecosystem.EcosystemManager;
 import com.trophic.ecosystem.RegionEcosystem;
+import com.trophic.registry.ResolvedSpecies;
 import com.trophic.registry.SpeciesDefinition;
-import net.minecraft.entity.Entity;
+import com.trophic.scheduling.TrophicScheduler;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.entity.passive.AnimalEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.TypeFilter;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.ChunkPos;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Tracks animal populations across the world and manages population dynamics.
+ * 
+ * Counts are maintained incrementally: animals are added when they load,
+ * removed when they die or unload, and moved between regions when they cross
+ * a region boundary. An optional reconciliation pass walks the loaded
+ * regions a few per tick, recounts every animal standing in each one and
+ * reports any drift from the region and global counters.
  */
 public class PopulationTracker {
-    // Tick interval for population scans (every 30 seconds)
-    private static final int SCAN_INTERVAL = 600;
+    /** Region key stored on animals that are not counted */
+    public static final long UNTRACKED = Long.MIN_VALUE;
     
+    private final TrophicScheduler scheduler;
     private MinecraftServer server;
-    private int tickCounter = 0;
     
     // Global population statistics
     private final Map<Identifier, Integer> globalPopulations = new HashMap<>();
     
-    public PopulationTracker() {
+    // In-progress reconciliation pass: regions still to count, or null
+    private List<ServerWorld> reconcileWorlds;
+    private LongArrayList reconcileKeys;
+    private final Map<Identifier, Integer> reconcileCounted = new HashMap<>();
+    private final List<AnimalEntity> regionAnimals = new ArrayList<>();
+    private int reconcileCursor;
+    private int reconcileDrift;
+    private int reconcileAnimals;
+    private int lastDrift;
+    
+    public PopulationTracker(TrophicScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Schedules the periodic reconciliation pass.
+     */
+    public void register() {
+        int interval = TrophicConfig.get().population.reconcileInterval;
+        scheduler.schedule("PopulationTracker.reconcile", interval, server -> {
+            if (TrophicConfig.get().population.reconcileEnabled && reconcileKeys == null) {
+                startReconcile();
+            }
+        });
+        
+        Trophic.LOGGER.info("PopulationTracker registered");
     }
 
     /**
@@ -36,51 +78,218 @@ public class PopulationTracker {
      */
     public void initializeForServer(MinecraftServer server) {
         this.server = server;
-        globalPopulations.clear();
-        
-        // Initial population scan
-        scanAllPopulations();
+        reconcileWorlds = null;
+        reconcileKeys = null;
         
         Trophic.LOGGER.info("PopulationTracker initialized");
     }
 
     /**
-     * Called every server tick.
+     * Called every server tick to continue an in-progress reconciliation.
      */
     public void tick(MinecraftServer server) {
-        tickCounter++;
+        if (reconcileKeys != null) {
+            continueReconcile(TrophicConfig.get().population.reconcileRegionsPerTick);
+        }
+    }
+
+    /**
+     * Starts counting an animal that entered the world.
+     */
+    public void onEntityLoad(AnimalEntity entity, ServerWorld world) {
+        if (!(entity instanceof EcologicalEntity eco) || eco.trophic_getTrackedRegion() != UNTRACKED) {
+            return;
+        }
+        
+        Identifier entityId = Registries.ENTITY_TYPE.getId(entity.getType());
+        globalPopulations.merge(entityId, 1, Integer::sum);
         
-        if (tickCounter >= SCAN_INTERVAL) {
-            tickCounter = 0;
-            scanAllPopulations();
+        long regionKey = EcosystemManager.getRegionKey(entity.getBlockX(), entity.getBlockZ());
+        EcosystemManager ecosystemManager = Trophic.getInstance().getEcosystemManager();
+        ecosystemManager.getOrCreateRegion(world, regionKey).addToPopulation(speciesIndexOf(entity));
+        eco.trophic_setTrackedRegion(regionKey);
+    }
+
+    /**
+     * Stops counting an animal that left the world.
+     */
+    public void onEntityUnload(AnimalEntity entity, ServerWorld world) {
+        untrack(entity, world);
+    }
+
+    /**
+     * Records that an entity died. The later unload is not counted again.
+     */
+    public void onEntityDeath(AnimalEntity entity) {
+        if (entity.getEntityWorld() instanceof ServerWorld serverWorld) {
+            untrack(entity, serverWorld);
         }
     }
 
     /**
-     * Scans all loaded chunks to count populations.
+     * Moves an animal's count between regions after it crossed a boundary.
      */
-    private void scanAllPopulations() {
-        globalPopulations.clear();
+    public void onRegionChange(AnimalEntity entity, ServerWorld world, long fromKey, long toKey) {
+        if (!(entity instanceof EcologicalEntity eco)) {
+            return;
+        }
+        
+        int speciesIndex = speciesIndexOf(entity);
         EcosystemManager ecosystemManager = Trophic.getInstance().getEcosystemManager();
         
+        RegionEcosystem from = ecosystemManager.getRegion(world, fromKey);
+        if (from != null) {
+            from.removeFromPopulation(speciesIndex);
+        }
+        ecosystemManager.getOrCreateRegion(world, toKey).addToPopulation(speciesIndex);
+        eco.trophic_setTrackedRegion(toKey);
+    }
+
+    private void untrack(AnimalEntity entity, ServerWorld world) {
+        if (!(entity instanceof EcologicalEntity eco)) {
+            return;
+        }
+        long regionKey = eco.trophic_getTrackedRegion();
+        if (regionKey == UNTRACKED) {
+            return;
+        }
+        eco.trophic_setTrackedRegion(UNTRACKED);
+        
+        Identifier entityId = Registries.ENTITY_TYPE.getId(entity.getType());
+        globalPopulations.merge(entityId, -1, Integer::sum);
+        globalPopulations.computeIfPresent(entityId, (k, v) -> v <= 0 ? null : v);
+        
+        RegionEcosystem region = Trophic.getInstance().getEcosystemManager().getRegion(world, regionKey);
+        if (region != null) {
+            region.removeFromPopulation(speciesIndexOf(entity));
+        }
+    }
+
+    private static int speciesIndexOf(AnimalEntity entity) {
+        ResolvedSpecies species = Trophic.getInstance().getSpeciesRegistry().resolve(entity);
+        return species != null ? species.getIndex() : -1;
+    }
+
+    /**
+     * Queues every region with loaded chunks for recounting. Nothing else is
+     * touched here; the regions are walked a few per tick afterwards.
+     */
+    private void startReconcile() {
+        if (server == null) {
+            return;
+        }
+        
+        EcosystemManager ecosystemManager = Trophic.getInstance().getEcosystemManager();
+        reconcileWorlds = new ArrayList<>();
+        reconcileKeys = new LongArrayList();
         for (ServerWorld world : server.getWorlds()) {
-            // Iterate through all loaded entities
-            for (Entity entity : world.iterateEntities()) {
-                if (entity instanceof AnimalEntity animal) {
-                    Identifier entityId = Registries.ENTITY_TYPE.getId(animal.getType());
-                    
-                    // Update global count
-                    globalPopulations.merge(entityId, 1, Integer::sum);
-                    
-                    // Update regional count
-                    ChunkPos chunkPos = new ChunkPos(animal.getBlockPos());
-                    RegionEcosystem region = ecosystemManager.getOrCreateRegion(world, chunkPos);
-                    // Regional population is tracked via spawn/death events
+            for (long regionKey : ecosystemManager.getLoadedRegionKeys(world)) {
+                reconcileWorlds.add(world);
+                reconcileKeys.add(regionKey);
+            }
+        }
+        reconcileCounted.clear();
+        reconcileCursor = 0;
+        reconcileDrift = 0;
+        reconcileAnimals = 0;
+    }
+
+    private void continueReconcile(int regionsPerTick) {
+        int end = Math.min(reconcileKeys.size(), reconcileCursor + Math.max(1, regionsPerTick));
+        for (; reconcileCursor < end; reconcileCursor++) {
+            ServerWorld world = reconcileWorlds.get(reconcileCursor);
+            if (server.getWorld(world.getRegistryKey()) == world) {
+                reconcileRegion(world, reconcileKeys.getLong(reconcileCursor));
+            }
+        }
+        
+        if (reconcileCursor < reconcileKeys.size()) {
+            return;
+        }
+        
+        // Pass complete - compare the global totals. Animals that loaded or
+        // crossed into an already counted region during the pass show up as
+        // small transient differences here, unlike the per-region checks
+        Set<Identifier> species = new HashSet<>(globalPopulations.keySet());
+        species.addAll(reconcileCounted.keySet());
+        for (Identifier id : species) {
+            int expected = globalPopulations.getOrDefault(id, 0);
+            int counted = reconcileCounted.getOrDefault(id, 0);
+            if (expected != counted) {
+                reconcileDrift += Math.abs(expected - counted);
+                Trophic.LOGGER.warn("Population drift for {}: tracked {}, counted {}", id, expected, counted);
+            }
+        }
+        
+        lastDrift = reconcileDrift;
+        Trophic.LOGGER.debug("Population reconcile complete: {} regions, {} animals, drift {}",
+                reconcileKeys.size(), reconcileAnimals, reconcileDrift);
+        reconcileWorlds = null;
+        reconcileKeys = null;
+        reconcileCounted.clear();
+    }
+
+    /**
+     * Counts every live animal standing in one region and compares the
+     * result with the region's counters in the same tick.
+     */
+    private void reconcileRegion(ServerWorld world, long regionKey) {
+        int width = EcosystemManager.REGION_SIZE * 16;
+        int minX = ChunkPos.getPackedX(regionKey) * width;
+        int minZ = ChunkPos.getPackedZ(regionKey) * width;
+        Box box = new Box(minX, world.getBottomY(), minZ,
+                minX + width, world.getBottomY() + world.getHeight(), minZ + width);
+        
+        regionAnimals.clear();
+        world.collectEntitiesByType(TypeFilter.instanceOf(AnimalEntity.class), box,
+                animal -> !animal.isRemoved(), regionAnimals);
+        
+        int[] counted = new int[0];
+        int untracked = 0;
+        for (AnimalEntity animal : regionAnimals) {
+            // Boxes overlapping the border are found from both sides
+            if (EcosystemManager.getRegionKey(animal.getBlockX(), animal.getBlockZ()) != regionKey) {
+                continue;
+            }
+            reconcileAnimals++;
+            reconcileCounted.merge(Registries.ENTITY_TYPE.getId(animal.getType()), 1, Integer::sum);
+            
+            if (!(animal instanceof EcologicalEntity eco) || eco.trophic_getTrackedRegion() == UNTRACKED) {
+                untracked++;
+                continue;
+            }
+            int speciesIndex = speciesIndexOf(animal);
+            if (speciesIndex >= 0) {
+                if (speciesIndex >= counted.length) {
+                    counted = Arrays.copyOf(counted, speciesIndex + 1);
                 }
+                counted[speciesIndex]++;
             }
         }
+        regionAnimals.clear();
         
-        Trophic.LOGGER.debug("Population scan complete: {} species tracked", globalPopulations.size());
+        RegionEcosystem region = Trophic.getInstance().getEcosystemManager().getRegion(world, regionKey);
+        int[] expected = region != null ? region.snapshotPopulation() : new int[0];
+        int drift = untracked;
+        for (int i = 0, n = Math.max(expected.length, counted.length); i < n; i++) {
+            int expectedCount = i < expected.length ? expected[i] : 0;
+            int countedCount = i < counted.length ? counted[i] : 0;
+            drift += Math.abs(expectedCount - countedCount);
+        }
+        
+        if (drift > 0) {
+            reconcileDrift += drift;
+            Trophic.LOGGER.warn("Population drift in region {},{} of {}: {} ({} animals never counted)",
+                    ChunkPos.getPackedX(regionKey), ChunkPos.getPackedZ(regionKey),
+                    world.getRegistryKey().getValue(), drift, untracked);
+        }
+    }
+
+    /**
+     * @return the total drift found by the last reconciliation pass
+     */
+    public int getLastDrift() {
+        return lastDrift;
     }
 
     /**
@@ -98,7 +307,7 @@ public class PopulationTracker {
         RegionEcosystem region = ecosystemManager.getRegion(world, chunkPos);
         
         if (region != null) {
-            return region.getPopulation(entityId);
+            return region.getPopulation(Trophic.getInstance().getSpeciesRegistry().getSpeciesIndex(entityId));
         }
         return 0;
     }
@@ -122,48 +331,18 @@ public class PopulationTracker {
                               EcosystemManager.REGION_SIZE * EcosystemManager.REGION_SIZE;
         double effectiveCapacity = baseCapacity * region.getCarryingCapacityModifier();
         
-        int currentPopulation = region.getPopulation(entityId);
+        int speciesIndex = Trophic.getInstance().getSpeciesRegistry().getSpeciesIndex(entityId);
+        int currentPopulation = region.getPopulation(speciesIndex);
         
         // Allow spawning if below carrying capacity
         return currentPopulation < effectiveCapacity;
     }
 
-    /**
-     * Records that an entity was spawned.
-     */
-    public void onEntitySpawn(AnimalEntity entity) {
-        Identifier entityId = Registries.ENTITY_TYPE.getId(entity.getType());
-        globalPopulations.merge(entityId, 1, Integer::sum);
-        
-        if (entity.getEntityWorld() instanceof ServerWorld serverWorld) {
-            ChunkPos chunkPos = new ChunkPos(entity.getBlockPos());
-            EcosystemManager ecosystemManager = Trophic.getInstance().getEcosystemManager();
-            RegionEcosystem region = ecosystemManager.getOrCreateRegion(serverWorld, chunkPos);
-            region.recordSpawn(entityId);
-        }
-    }
-
-    /**
-     * Records that an entity died.
-     */
-    public void onEntityDeath(AnimalEntity entity) {
-        Identifier entityId = Registries.ENTITY_TYPE.getId(entity.getType());
-        globalPopulations.merge(entityId, -1, Integer::sum);
-        globalPopulations.computeIfPresent(entityId, (k, v) -> v <= 0 ? null : v);
-        
-        if (entity.getEntityWorld() instanceof ServerWorld serverWorld) {
-            ChunkPos chunkPos = new ChunkPos(entity.getBlockPos());
-            EcosystemManager ecosystemManager = Trophic.getInstance().getEcosystemManager();
-            RegionEcosystem region = ecosystemManager.getOrCreateRegion(serverWorld, chunkPos);
-            region.recordDeath(entityId);
-        }
-    }
-
     /**
      * Saves all population data.
      */
     public void saveAll() {
-        // Population data is derived from ecosystem regions
+        // Counts are rebuilt from entity loads, so there is nothing to persist
         Trophic.LOGGER.info("Population data saved");
     }
 
@@ -1,6 +1,9 @@
 package com.trophic.population;
 
 import com.trophic.Trophic;
+import com.trophic.behavior.EcologicalEntity;
+import com.trophic.behavior.ai.PackCoordinator;
+import com.trophic.behavior.ai.TerritoryManager;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
@@ -49,6 +52,8 @@ public class SpawnController {
      * Called when an animal entity is loaded/spawned.
      */
     private void onAnimalLoad(AnimalEntity animal, ServerWorld world) {
+        populationTracker.onEntityLoad(animal, world);
+        
         Identifier entityId = Registries.ENTITY_TYPE.getId(animal.getType());
         
         // Check if this is a registered species
@@ -56,13 +61,22 @@ public class SpawnController {
             // Initialize ecological data for the entity if needed
             initializeEcologicalData(animal);
         }
+        
+        // Restore saved social state instead of rediscovering it
+        ((EcologicalEntity) animal).trophic_restoreSocialState();
     }
 
     /**
      * Called when an animal entity is unloaded.
      */
     private void onAnimalUnload(AnimalEntity animal, ServerWorld world) {
-        // Unload handling - population tracking happens via death events
+        // Dead animals were already uncounted by the death hook
+        populationTracker.onEntityUnload(animal, world);
+        
+        // Drop social state; it is saved with the animal and restored when it loads again
+        ((EcologicalEntity) animal).trophic_captureSocialState();
+        PackCoordinator.onEntityRemoved(world, animal.getUuid());
+        TerritoryManager.onEntityRemoved(world, animal.getUuid());
     }
 
     /**
@@ -0,0 +1,193 @@
+package com.trophic.profiling;
+
+import com.trophic.Trophic;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.util.Identifier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sampling profiler for Trophic goals and subsystems.
+ *
+ * Instrumented code brackets its work with {@link #begin()} and
+ * {@link #end(Section, Identifier, long)}. While the profiler is stopped,
+ * {@code begin} is a single field read; while running, one in every
+ * {@code sampleRate} calls is timed with {@link System#nanoTime()} and
+ * recorded in a per-section, per-species {@link LatencyHistogram}.
+ *
+ * Sections may be created from any thread; timing and results are server
+ * thread only.
+ */
+public class TrophicProfiler {
+
+    /**
+     * A named instrumentation point, such as a goal method or a subsystem tick.
+     */
+    public static final class Section {
+        private final String name;
+        // Keyed by species id; null for work not tied to a species
+        private final Reference2ObjectOpenHashMap<Identifier, LatencyHistogram> histograms =
+                new Reference2ObjectOpenHashMap<>();
+
+        private Section(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Aggregated results for one section and species.
+     *
+     * @param callsPerTick estimated calls per tick, corrected for sampling
+     * @param totalNanos estimated total time, corrected for sampling
+     */
+    public record Result(
+            String section,
+            Identifier species,
+            long samples,
+            double callsPerTick,
+            long p50Nanos,
+            long p99Nanos,
+            long maxNanos,
+            long totalNanos
+    ) {}
+
+    // Goals create their sections while being constructed, which in
+    // singleplayer also happens on the client thread
+    private final Map<String, Section> sections = new ConcurrentHashMap<>();
+
+    private boolean running;
+    private int sampleRate = 1;
+    private int sampleCounter;
+    private long ticks;
+
+    /**
+     * Registers the tick counter used for per-tick rates.
+     */
+    public void register() {
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (running) {
+                ticks++;
+            }
+        });
+
+        Trophic.LOGGER.info("TrophicProfiler registered");
+    }
+
+    /**
+     * Gets or creates a section. Callers should look sections up once and
+     * keep the handle.
+     */
+    public Section section(String name) {
+        return sections.computeIfAbsent(name, Section::new);
+    }
+
+    /**
+     * Clears previous results and starts sampling.
+     *
+     * @param sampleRate time one in this many calls
+     */
+    public void start(int sampleRate) {
+        for (Section section : sections.values()) {
+            section.histograms.clear();
+        }
+        this.sampleRate = Math.max(1, sampleRate);
+        this.sampleCounter = 0;
+        this.ticks = 0;
+        this.running = true;
+    }
+
+    /**
+     * Stops sampling. Results are kept until the next start.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Starts timing a call if it is sampled.
+     *
+     * @return the start time, or 0 if the call is not sampled
+     */
+    public long begin() {
+        if (!running) {
+            return 0;
+        }
+        if (++sampleCounter < sampleRate) {
+            return 0;
+        }
+        sampleCounter = 0;
+        return System.nanoTime();
+    }
+
+    /**
+     * Finishes timing a call started with {@link #begin()}.
+     *
+     * @param species the species the work was done for, or null
+     * @param start the value returned by {@code begin}
+     */
+    public void end(Section section, Identifier species, long start) {
+        if (start != 0) {
+            record(section, species, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a sampled call timed by the caller.
+     */
+    public void record(Section section, Identifier species, long elapsedNanos) {
+        LatencyHistogram histogram = section.histograms.get(species);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            section.histograms.put(species, histogram);
+        }
+        histogram.record(elapsedNanos);
+    }
+
+    /**
+     * Collects the results, most expensive first.
+     */
+    public List<Result> getResults() {
+        List<Result> results = new ArrayList<>();
+        double tickCount = Math.max(1, ticks);
+
+        for (Section section : sections.values()) {
+            for (Map.Entry<Identifier, LatencyHistogram> entry : section.histograms.entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                results.add(new Result(
+                        section.name,
+                        entry.getKey(),
+                        histogram.getCount(),
+                        histogram.getCount() * sampleRate / tickCount,
+                        histogram.getPercentile(50),
+                        histogram.getPercentile(99),
+                        histogram.getMax(),
+                        histogram.getTotal() * sampleRate
+                ));
+            }
+        }
+
+        results.sort(Comparator.comparingLong(Result::totalNanos).reversed());
+        return results;
+    }
+}
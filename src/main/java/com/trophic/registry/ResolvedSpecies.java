@@ -0,0 +1,132 @@
+package com.trophic.registry;
+
+import com.trophic.config.TrophicConfig;
+import net.minecraft.util.Identifier;
+
+import java.util.BitSet;
+
+/**
+ * Immutable handle to a species with its hot-path fields precomputed.
+ *
+ * Handles are resolved once per entity type and cached on each entity, so
+ * per-tick code never goes through registry or config lookups. A handle
+ * belongs to one registry generation; when species or config are reloaded
+ * the registry bumps its generation and every handle is re-resolved.
+ */
+public final class ResolvedSpecies {
+    private final SpeciesDefinition definition;
+    private final int index;
+    private final int generation;
+    private final BitSet predatorMask;
+    private final BitSet preyMask;
+    private final long predatorBits;
+    private final double hungerDecayPerTick;
+    private final boolean canHunt;
+    private final boolean canForage;
+
+    ResolvedSpecies(SpeciesDefinition definition, int index, int generation,
+                    BitSet predatorMask, BitSet preyMask, TrophicConfig config) {
+        this.definition = definition;
+        this.index = index;
+        this.generation = generation;
+        this.predatorMask = predatorMask;
+        this.preyMask = preyMask;
+        this.predatorBits = foldBits(predatorMask);
+
+        // Base metabolic cost, scaled by trophic level
+        TrophicConfig.HungerConfig hunger = config.hunger;
+        this.hungerDecayPerTick = hunger.decayRatePerSecond / 20.0
+                * (1.0 + (definition.getTrophicLevel() - 1) * hunger.trophicLevelScaling);
+
+        SpeciesDefinition.Diet diet = definition.getDiet();
+        this.canHunt = diet != null && diet.type().canHunt();
+        this.canForage = diet == null || diet.type().canForage();
+    }
+
+    public Identifier getId() {
+        return definition.getEntityId();
+    }
+
+    public SpeciesDefinition getDefinition() {
+        return definition;
+    }
+
+    /**
+     * @return the dense species index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the registry generation this handle was resolved in
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return mask of predator species indices (shared, do not modify)
+     */
+    public BitSet getPredatorMask() {
+        return predatorMask;
+    }
+
+    /**
+     * @return mask of prey species indices (shared, do not modify)
+     */
+    public BitSet getPreyMask() {
+        return preyMask;
+    }
+
+    /**
+     * @return the predator mask folded into 64 bits (see {@link #speciesBit(int)})
+     */
+    public long getPredatorBits() {
+        return predatorBits;
+    }
+
+    /**
+     * Maps a species index to one bit of a folded 64-bit mask. Indices 64
+     * apart share a bit, so folded masks can over-report but never miss.
+     */
+    public static long speciesBit(int index) {
+        return 1L << (index & 63);
+    }
+
+    private static long foldBits(BitSet mask) {
+        long bits = 0L;
+        for (int i = mask.nextSetBit(0); i >= 0; i = mask.nextSetBit(i + 1)) {
+            bits |= speciesBit(i);
+        }
+        return bits;
+    }
+
+    /**
+     * @return true if any registered species preys on this one
+     */
+    public boolean hasPredators() {
+        return !predatorMask.isEmpty();
+    }
+
+    /**
+     * @return hunger lost per tick
+     */
+    public double getHungerDecayPerTick() {
+        return hungerDecayPerTick;
+    }
+
+    /**
+     * @return true if the diet allows hunting
+     */
+    public boolean canHunt() {
+        return canHunt;
+    }
+
+    /**
+     * @return true if the diet allows foraging (species without a diet may forage)
+     */
+    public boolean canForage() {
+        return canForage;
+    }
+}
@@ -1,7 +1,12 @@
 package com.trophic.registry;
 
 import com.trophic.Trophic;
+import com.trophic.behavior.EcologicalEntity;
+import com.trophic.config.TrophicConfig;
 import com.trophic.data.SpeciesLoader;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
 
 import java.util.*;
@@ -14,6 +19,21 @@ public class SpeciesRegistry {
     private final Map<Identifier, SpeciesDefinition> species = new HashMap<>();
     private final Map<Identifier, Set<Identifier>> predatorMap = new HashMap<>();
     private final Map<Identifier, Set<Identifier>> preyMap = new HashMap<>();
+    
+    // Dense species indices, assigned in registration order. Entity types that
+    // only appear as prey in a diet get an index too, so they can be indexed
+    // and masked like any species
+    private final List<Identifier> indexedIds = new ArrayList<>();
+    private final Map<Identifier, Integer> speciesIndices = new HashMap<>();
+    
+    // Lazily built predator/prey masks over species indices
+    private final Map<Identifier, BitSet> predatorMasks = new HashMap<>();
+    private final Map<Identifier, BitSet> preyMasks = new HashMap<>();
+    private BitSet hunterMask;
+    
+    // Resolved handles by entity type, replaced wholesale on invalidation
+    private Map<EntityType<?>, ResolvedSpecies> resolved = new IdentityHashMap<>();
+    private int generation;
 
     public SpeciesRegistry() {
     }
@@ -32,9 +52,16 @@ public class SpeciesRegistry {
         
         species.put(id, definition);
         
+        assignIndex(id);
+        predatorMasks.clear();
+        preyMasks.clear();
+        hunterMask = null;
+        invalidateResolved();
+        
         // Build predator-prey relationship maps
         if (definition.getDiet() != null && definition.getDiet().prey() != null) {
             for (Identifier preyId : definition.getDiet().prey().keySet()) {
+                assignIndex(preyId);
                 // This species is a predator of preyId
                 predatorMap.computeIfAbsent(preyId, k -> new HashSet<>()).add(id);
                 // preyId is prey for this species
@@ -45,6 +72,13 @@ public class SpeciesRegistry {
         Trophic.LOGGER.debug("Registered species: {} (trophic level {})", id, definition.getTrophicLevel());
     }
 
+    private void assignIndex(Identifier id) {
+        if (!speciesIndices.containsKey(id)) {
+            speciesIndices.put(id, indexedIds.size());
+            indexedIds.add(id);
+        }
+    }
+
     /**
      * Gets a species definition by entity ID.
      * 
@@ -75,6 +109,137 @@ public class SpeciesRegistry {
         return preyMap.getOrDefault(predatorId, Collections.emptySet());
     }
 
+    /**
+     * Gets the dense index of a species, used by primitive-array structures.
+     * Entity types named only as prey in a diet have an index but no definition.
+     * 
+     * @param entityId the entity identifier
+     * @return the species index, or -1 if neither registered nor hunted
+     */
+    public int getSpeciesIndex(Identifier entityId) {
+        Integer index = speciesIndices.get(entityId);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Gets the dense index of an entity type.
+     * 
+     * @param type the entity type
+     * @return the species index, or -1 if neither registered nor hunted
+     * @see #getSpeciesIndex(Identifier)
+     */
+    public int getSpeciesIndex(EntityType<?> type) {
+        return getSpeciesIndex(Registries.ENTITY_TYPE.getId(type));
+    }
+
+    /**
+     * Gets the species identifier for a dense index.
+     * 
+     * @param index the species index
+     * @return the entity identifier, or null if out of range
+     */
+    public Identifier getSpeciesId(int index) {
+        return index >= 0 && index < indexedIds.size() ? indexedIds.get(index) : null;
+    }
+
+    /**
+     * Gets the predators of a species as a mask over species indices.
+     * The returned set is shared and must not be modified.
+     * 
+     * @param preyId the prey species
+     * @return mask of predator species indices
+     */
+    public BitSet getPredatorMask(Identifier preyId) {
+        return predatorMasks.computeIfAbsent(preyId, id -> toMask(getPredatorsOf(id)));
+    }
+
+    /**
+     * Gets the prey of a species as a mask over species indices.
+     * The returned set is shared and must not be modified.
+     * 
+     * @param predatorId the predator species
+     * @return mask of prey species indices
+     */
+    public BitSet getPreyMask(Identifier predatorId) {
+        return preyMasks.computeIfAbsent(predatorId, id -> toMask(getPreyOf(id)));
+    }
+
+    /**
+     * Gets every species that preys on at least one other, as a mask over
+     * species indices. The returned set is shared and must not be modified.
+     * 
+     * @return mask of predator species indices
+     */
+    public BitSet getHunterMask() {
+        if (hunterMask == null) {
+            hunterMask = toMask(preyMap.keySet());
+        }
+        return hunterMask;
+    }
+
+    private BitSet toMask(Set<Identifier> ids) {
+        BitSet mask = new BitSet();
+        for (Identifier id : ids) {
+            int index = getSpeciesIndex(id);
+            if (index >= 0) {
+                mask.set(index);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Resolves the species handle for an entity type. Results, including
+     * misses, are cached until the next {@link #invalidateResolved()}.
+     * 
+     * @param type the entity type
+     * @return the resolved species, or null if not registered
+     */
+    public ResolvedSpecies resolve(EntityType<?> type) {
+        ResolvedSpecies cached = resolved.get(type);
+        if (cached != null || resolved.containsKey(type)) {
+            return cached;
+        }
+        
+        Identifier id = Registries.ENTITY_TYPE.getId(type);
+        SpeciesDefinition definition = species.get(id);
+        ResolvedSpecies handle = definition == null ? null : new ResolvedSpecies(
+                definition, getSpeciesIndex(id), generation,
+                getPredatorMask(id), getPreyMask(id), TrophicConfig.get());
+        resolved.put(type, handle);
+        return handle;
+    }
+
+    /**
+     * Resolves the species handle for an entity, using the handle cached on
+     * the entity when it has one.
+     * 
+     * @param entity the entity
+     * @return the resolved species, or null if not registered
+     */
+    public ResolvedSpecies resolve(Entity entity) {
+        if (entity instanceof EcologicalEntity eco) {
+            return eco.trophic_getSpecies();
+        }
+        return resolve(entity.getType());
+    }
+
+    /**
+     * Drops all resolved handles. Entities re-resolve on their next lookup.
+     * Must be called whenever species or hunger config change.
+     */
+    public void invalidateResolved() {
+        resolved = new IdentityHashMap<>();
+        generation++;
+    }
+
+    /**
+     * @return the current resolution generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
     /**
      * Checks if an entity has a registered species definition.
      * 
@@ -133,5 +298,11 @@ public class SpeciesRegistry {
         species.clear();
         predatorMap.clear();
         preyMap.clear();
+        indexedIds.clear();
+        speciesIndices.clear();
+        predatorMasks.clear();
+        preyMasks.clear();
+        hunterMask = null;
+        invalidateResolved();
     }
 }
@@ -0,0 +1,150 @@
+package com.trophic.scheduling;
+
+import com.trophic.Trophic;
+
+import java.util.ArrayList;
+
+/**
+ * Hashed timing wheel for one world's ecological deadlines (cooldowns,
+ * search back-offs, ticket and migration timeouts).
+ *
+ * A deadline is registered once, in O(1), into the slot its tick hashes to;
+ * the wheel only visits the slot of each tick as the world advances, so
+ * pending deadlines cost nothing until they are due. Deadlines more than
+ * {@value #SLOTS} ticks away stay in their slot for further laps. Cancelling
+ * is O(1) and the entry is dropped the next time its slot is visited.
+ *
+ * Server thread only.
+ */
+public class TimingWheel {
+    public static final int SLOTS = 512;
+    private static final int MASK = SLOTS - 1;
+
+    /**
+     * A registered deadline.
+     */
+    public static final class Timeout {
+        private final long deadline;
+        private Runnable callback;
+
+        private Timeout(long deadline, Runnable callback) {
+            this.deadline = deadline;
+            this.callback = callback;
+        }
+
+        /**
+         * @return the world tick this timeout fires on
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * @return true until the timeout fires or is cancelled
+         */
+        public boolean isPending() {
+            return callback != null;
+        }
+
+        /**
+         * Stops the timeout from firing. Safe to call more than once.
+         */
+        public void cancel() {
+            callback = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final ArrayList<Timeout>[] slots = new ArrayList[SLOTS];
+    // Last tick the wheel advanced to
+    private long currentTick = Long.MIN_VALUE;
+    private int pendingCount;
+    private long firedCount;
+
+    /**
+     * Registers a callback to run when the world reaches a tick. Deadlines
+     * already passed fire on the next advance.
+     */
+    public Timeout schedule(long deadline, Runnable callback) {
+        if (currentTick != Long.MIN_VALUE && deadline <= currentTick) {
+            deadline = currentTick + 1;
+        }
+
+        Timeout timeout = new Timeout(deadline, callback);
+        int index = (int) (deadline & MASK);
+        ArrayList<Timeout> slot = slots[index];
+        if (slot == null) {
+            slot = new ArrayList<>(4);
+            slots[index] = slot;
+        }
+        slot.add(timeout);
+        pendingCount++;
+        return timeout;
+    }
+
+    /**
+     * Advances to a world tick, firing every timeout due by then.
+     */
+    public void advance(long now) {
+        if (currentTick == Long.MIN_VALUE) {
+            currentTick = now - 1;
+        }
+        if (now <= currentTick) {
+            return;
+        }
+
+        // After a jump of a full lap or more, every slot is visited once
+        long from = Math.max(currentTick + 1, now - MASK);
+        currentTick = now;
+        for (long tick = from; tick <= now; tick++) {
+            expire(slots[(int) (tick & MASK)], now);
+        }
+    }
+
+    private void expire(ArrayList<Timeout> slot, long now) {
+        if (slot == null) {
+            return;
+        }
+
+        // Swap-remove; callbacks that schedule into this slot land at the end
+        // with a later deadline and are kept
+        for (int i = 0; i < slot.size(); ) {
+            Timeout timeout = slot.get(i);
+            Runnable callback = timeout.callback;
+            if (callback != null && timeout.deadline > now) {
+                i++;
+                continue;
+            }
+
+            int last = slot.size() - 1;
+            slot.set(i, slot.get(last));
+            slot.remove(last);
+            pendingCount--;
+
+            if (callback != null) {
+                timeout.callback = null;
+                firedCount++;
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    Trophic.LOGGER.error("Timing wheel callback failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of registered timeouts not yet visited after
+     *         firing or cancellation
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * @return the number of timeouts fired since the world loaded
+     */
+    public long getFiredCount() {
+        return firedCount;
+    }
+}
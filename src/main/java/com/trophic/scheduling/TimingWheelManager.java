@@ -0,0 +1,81 @@
+package com.trophic.scheduling;
+
+import com.trophic.Trophic;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Owns one {@link TimingWheel} per server world and advances it at the end of
+ * the world's tick, after entity AI has run.
+ */
+public class TimingWheelManager {
+    private final Map<ServerWorld, TimingWheel> wheels = new HashMap<>();
+
+    /**
+     * Registers the tick and world unload handlers.
+     */
+    public void register() {
+        ServerTickEvents.END_WORLD_TICK.register(world -> {
+            TimingWheel wheel = wheels.get(world);
+            if (wheel != null) {
+                wheel.advance(world.getTime());
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> wheels.remove(world));
+
+        Trophic.LOGGER.info("TimingWheelManager registered");
+    }
+
+    /**
+     * Gets the wheel for a world, creating it if needed.
+     */
+    public TimingWheel get(ServerWorld world) {
+        return wheels.computeIfAbsent(world, k -> new TimingWheel());
+    }
+
+    /**
+     * Gets the wheel for an entity's world.
+     *
+     * @return the wheel, or null if the entity is not in a server world
+     */
+    public static TimingWheel of(Entity entity) {
+        if (entity.getEntityWorld() instanceof ServerWorld serverWorld) {
+            return Trophic.getInstance().getTimingWheelManager().get(serverWorld);
+        }
+        return null;
+    }
+
+    /**
+     * Registers a callback for a number of ticks from now in an entity's world.
+     *
+     * @return the timeout, or null if the entity is not in a server world
+     */
+    public static TimingWheel.Timeout after(Entity entity, long ticks, Runnable callback) {
+        TimingWheel wheel = of(entity);
+        return wheel != null ? wheel.schedule(entity.getEntityWorld().getTime() + ticks, callback) : null;
+    }
+
+    /**
+     * @return the total number of pending timeouts across all worlds
+     */
+    public int getPendingCount() {
+        return wheels.values().stream()
+                .mapToInt(TimingWheel::getPendingCount)
+                .sum();
+    }
+
+    /**
+     * @return the total number of fired timeouts across all worlds
+     */
+    public long getFiredCount() {
+        return wheels.values().stream()
+                .mapToLong(TimingWheel::getFiredCount)
+                .sum();
+    }
+}
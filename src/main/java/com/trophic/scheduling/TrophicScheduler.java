@@ -0,0 +1,208 @@
+package com.trophic.scheduling;
+
+import com.trophic.Trophic;
+import com.trophic.config.TrophicConfig;
+import com.trophic.profiling.TrophicProfiler;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Shared scheduler for periodic simulation work.
+ *
+ * Each task repeats at a fixed interval, but its phase within the interval is
+ * derived from a hash of its key, so regions and subsystems with the same
+ * interval land on different ticks instead of all firing together. Due tasks
+ * run at the end of the server tick until the configured time budget is spent;
+ * anything left over is carried to the front of the next tick.
+ */
+public class TrophicScheduler {
+
+    /**
+     * Work run by the scheduler on the server thread.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run(MinecraftServer server);
+    }
+
+    /**
+     * Handle for a scheduled task.
+     */
+    public static final class Handle {
+        private final TrophicProfiler.Section section;
+        private final Task task;
+        private final int interval;
+        private long due;
+        private boolean cancelled;
+
+        private Handle(TrophicProfiler.Section section, Task task, int interval, long due) {
+            this.section = section;
+            this.task = task;
+            this.interval = interval;
+            this.due = due;
+        }
+
+        /**
+         * @return true if the task was cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    // Scheduled tasks bucketed by the tick they are due
+    private final Long2ObjectOpenHashMap<ArrayList<Handle>> slots = new Long2ObjectOpenHashMap<>();
+    // Due tasks not yet run, oldest first
+    private final ArrayDeque<Handle> backlog = new ArrayDeque<>();
+    private final TrophicProfiler profiler;
+
+    private long currentTick;
+    private int scheduledCount;
+    private int lastTickTasks;
+    private double lastTickMs;
+
+    public TrophicScheduler(TrophicProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Registers the tick handler that runs due tasks.
+     */
+    public void register() {
+        ServerTickEvents.END_SERVER_TICK.register(this::tick);
+
+        Trophic.LOGGER.info("TrophicScheduler registered");
+    }
+
+    /**
+     * Schedules a repeating task.
+     *
+     * @param name profiler section the task's runs are recorded under
+     * @param key stable key (e.g. a region key) that picks the phase
+     * @param interval ticks between runs
+     */
+    public Handle schedule(String name, long key, int interval, Task task) {
+        interval = Math.max(1, interval);
+        long phase = Math.floorMod(HashCommon.mix(key), (long) interval);
+        long due = currentTick - Math.floorMod(currentTick, (long) interval) + phase;
+        if (due <= currentTick) {
+            due += interval;
+        }
+
+        Handle handle = new Handle(profiler.section(name), task, interval, due);
+        insert(handle);
+        scheduledCount++;
+        return handle;
+    }
+
+    /**
+     * Schedules a repeating subsystem task keyed by name.
+     */
+    public Handle schedule(String name, int interval, Task task) {
+        return schedule(name, name.hashCode(), interval, task);
+    }
+
+    /**
+     * Stops a task from running again.
+     */
+    public void cancel(Handle handle) {
+        if (handle == null || handle.cancelled) {
+            return;
+        }
+        handle.cancelled = true;
+        scheduledCount--;
+    }
+
+    /**
+     * Runs due tasks within the configured budget.
+     */
+    public void tick(MinecraftServer server) {
+        currentTick++;
+
+        ArrayList<Handle> slot = slots.remove(currentTick);
+        if (slot != null) {
+            backlog.addAll(slot);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + (long) (TrophicConfig.get().scheduler.tickBudgetMs * 1_000_000L);
+        int tasks = 0;
+
+        while (!backlog.isEmpty()) {
+            Handle handle = backlog.peekFirst();
+            if (handle.cancelled) {
+                backlog.pollFirst();
+                continue;
+            }
+
+            // Always make progress on at least one task per tick
+            if (tasks > 0 && System.nanoTime() >= deadline) {
+                break;
+            }
+
+            backlog.pollFirst();
+            long sample = profiler.begin();
+            try {
+                handle.task.run(server);
+            } catch (RuntimeException e) {
+                Trophic.LOGGER.error("Scheduled task {} failed", handle.section.getName(), e);
+            }
+            profiler.end(handle.section, null, sample);
+            tasks++;
+
+            if (!handle.cancelled) {
+                // Keep the original phase even when the run was carried over
+                handle.due += handle.interval;
+                if (handle.due <= currentTick) {
+                    handle.due += ((currentTick - handle.due) / handle.interval + 1) * handle.interval;
+                }
+                insert(handle);
+            }
+        }
+
+        lastTickTasks = tasks;
+        lastTickMs = (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private void insert(Handle handle) {
+        ArrayList<Handle> slot = slots.get(handle.due);
+        if (slot == null) {
+            slot = new ArrayList<>();
+            slots.put(handle.due, slot);
+        }
+        slot.add(handle);
+    }
+
+    /**
+     * @return the number of live scheduled tasks
+     */
+    public int getScheduledCount() {
+        return scheduledCount;
+    }
+
+    /**
+     * @return the number of due tasks carried over to the next tick
+     */
+    public int getBacklogSize() {
+        return backlog.size();
+    }
+
+    /**
+     * @return the number of tasks run in the last tick
+     */
+    public int getLastTickTasks() {
+        return lastTickTasks;
+    }
+
+    /**
+     * @return the time spent running tasks in the last tick in milliseconds
+     */
+    public double getLastTickMs() {
+        return lastTickMs;
+    }
+}
@@ -5,6 +5,7 @@ import com.trophic.ecosystem.EcosystemManager;
 import com.trophic.ecosystem.RegionEcosystem;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
+import com.trophic.scheduling.TrophicScheduler;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
@@ -30,21 +31,19 @@ public class FoodChainSimulator {
     // Update interval in ticks (every 10 seconds)
     private static final int UPDATE_INTERVAL = 200;
     
-    private int tickCounter = 0;
+    private final TrophicScheduler scheduler;
 
-    public FoodChainSimulator() {
+    public FoodChainSimulator(TrophicScheduler scheduler) {
+        this.scheduler = scheduler;
     }
 
     /**
-     * Called every server tick to update food chain dynamics.
+     * Schedules the periodic food chain update.
      */
-    public void tick(MinecraftServer server) {
-        tickCounter++;
+    public void register() {
+        scheduler.schedule("FoodChainSimulator.simulate", UPDATE_INTERVAL, this::simulateFoodChain);
         
-        if (tickCounter >= UPDATE_INTERVAL) {
-            tickCounter = 0;
-            simulateFoodChain(server);
-        }
+        Trophic.LOGGER.info("FoodChainSimulator registered");
     }
 
     /**
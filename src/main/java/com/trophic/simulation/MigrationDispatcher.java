@@ -0,0 +1,231 @@
+package com.trophic.simulation;
+
+import com.trophic.Trophic;
+import com.trophic.config.TrophicConfig;
+import com.trophic.scheduling.TimingWheel;
+import com.trophic.scheduling.TrophicScheduler;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Admits pack migrations in waves, one queue per world.
+ *
+ * A pack leader that wants to migrate is queued here instead of planning
+ * straight away. Every {@code waveInterval} ticks a wave opens, sized so the
+ * queue drains evenly over the rest of the season and never exceeds the
+ * concurrent migration cap. Within a wave at most {@code maxPlansPerTick}
+ * leaders are admitted per tick, least suitable habitat first. An admitted
+ * leader holds a short-lived ticket that lets its next
+ * {@code MigrationGoal.canStart} plan the route.
+ *
+ * Server thread only.
+ */
+public class MigrationDispatcher {
+
+    /**
+     * A leader waiting to migrate.
+     */
+    private static final class Entry {
+        private final UUID leaderId;
+        private final double priority;
+        private long lastSeen;
+
+        Entry(UUID leaderId, double priority, long lastSeen) {
+            this.leaderId = leaderId;
+            this.priority = priority;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    /**
+     * Queue, tickets and running migrations of one world.
+     */
+    private static final class WorldQueue {
+        // Highest priority (least suitable habitat) first
+        private final PriorityQueue<Entry> queue =
+                new PriorityQueue<>(Comparator.comparingDouble((Entry e) -> e.priority).reversed());
+        private final Map<UUID, Entry> queued = new HashMap<>();
+        // Admitted leaders, each ticket expiring on the world's timing wheel
+        private final Map<UUID, TimingWheel.Timeout> tickets = new HashMap<>();
+        // Migrating leaders, released on the wheel if they never report back
+        private final Map<UUID, TimingWheel.Timeout> migrating = new HashMap<>();
+        private long nextWaveTick;
+        private int waveRemaining;
+    }
+
+    private final TrophicScheduler scheduler;
+    private final Map<ServerWorld, WorldQueue> worlds = new HashMap<>();
+
+    public MigrationDispatcher(TrophicScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Registers the admission task and world cleanup.
+     */
+    public void register() {
+        scheduler.schedule("MigrationDispatcher.admit", 1, this::admit);
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> worlds.remove(world));
+
+        Trophic.LOGGER.info("MigrationDispatcher registered");
+    }
+
+    /**
+     * Asks to start a pack migration. The first call queues the leader; later
+     * calls keep its place in the queue alive.
+     *
+     * @param unsuitability how poor the leader's current habitat is, 0 to 1;
+     *                      higher values are admitted first
+     * @return true if the leader was admitted and may plan its migration now
+     */
+    public boolean requestDeparture(ServerWorld world, UUID leaderId, double unsuitability) {
+        WorldQueue worldQueue = worlds.computeIfAbsent(world, k -> new WorldQueue());
+        long now = world.getTime();
+
+        TimingWheel.Timeout ticket = worldQueue.tickets.remove(leaderId);
+        if (ticket != null) {
+            ticket.cancel();
+            return true;
+        }
+
+        Entry entry = worldQueue.queued.get(leaderId);
+        if (entry != null) {
+            entry.lastSeen = now;
+        } else {
+            entry = new Entry(leaderId, unsuitability, now);
+            worldQueue.queued.put(leaderId, entry);
+            worldQueue.queue.add(entry);
+        }
+        return false;
+    }
+
+    /**
+     * Puts an admitted leader back in the queue after its plan fell through,
+     * so the spent ticket leads to another turn rather than nothing.
+     *
+     * @param unsuitability how poor the leader's current habitat is, 0 to 1
+     */
+    public void requeue(ServerWorld world, UUID leaderId, double unsuitability) {
+        WorldQueue worldQueue = worlds.computeIfAbsent(world, k -> new WorldQueue());
+        TimingWheel.Timeout ticket = worldQueue.tickets.remove(leaderId);
+        if (ticket != null) {
+            ticket.cancel();
+        }
+        if (!worldQueue.queued.containsKey(leaderId)) {
+            Entry entry = new Entry(leaderId, unsuitability, world.getTime());
+            worldQueue.queued.put(leaderId, entry);
+            worldQueue.queue.add(entry);
+        }
+    }
+
+    /**
+     * @return true if the leader is waiting in its world's queue
+     */
+    public boolean isQueued(ServerWorld world, UUID leaderId) {
+        WorldQueue worldQueue = worlds.get(world);
+        return worldQueue != null
+                && (worldQueue.queued.containsKey(leaderId) || worldQueue.tickets.containsKey(leaderId));
+    }
+
+    /**
+     * Counts an admitted leader's migration against the concurrency cap.
+     */
+    public void onDeparture(ServerWorld world, UUID leaderId) {
+        WorldQueue worldQueue = worlds.computeIfAbsent(world, k -> new WorldQueue());
+        long deadline = world.getTime() + TrophicConfig.get().migration.maxMigrationTime + 1;
+
+        // Leaders that vanish mid-migration give their slot back on the deadline
+        TimingWheel.Timeout timeout = wheel(world).schedule(deadline, () -> worldQueue.migrating.remove(leaderId));
+        TimingWheel.Timeout previous = worldQueue.migrating.put(leaderId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Releases a leader's concurrency slot, whether it arrived or gave up.
+     */
+    public void onMigrationEnded(ServerWorld world, UUID leaderId) {
+        WorldQueue worldQueue = worlds.get(world);
+        TimingWheel.Timeout timeout = worldQueue != null ? worldQueue.migrating.remove(leaderId) : null;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private void admit(MinecraftServer server) {
+        TrophicConfig.MigrationConfig config = TrophicConfig.get().migration;
+        SeasonManager seasonManager = Trophic.getInstance().getSeasonManager();
+
+        for (Map.Entry<ServerWorld, WorldQueue> worldEntry : worlds.entrySet()) {
+            ServerWorld world = worldEntry.getKey();
+            WorldQueue worldQueue = worldEntry.getValue();
+            long now = world.getTime();
+
+            if (now >= worldQueue.nextWaveTick) {
+                worldQueue.nextWaveTick = now + config.waveInterval;
+
+                worldQueue.queue.removeIf(entry -> {
+                    boolean stale = now - entry.lastSeen > config.queueTimeout;
+                    if (stale) {
+                        worldQueue.queued.remove(entry.leaderId);
+                    }
+                    return stale;
+                });
+
+                // Size the wave so the queue drains evenly over the season
+                long ticksLeft = (long) ((1.0 - seasonManager.getSeasonProgress()) * SeasonManager.SEASON_LENGTH_TICKS);
+                long wavesLeft = Math.max(1, ticksLeft / config.waveInterval);
+                worldQueue.waveRemaining = (int) Math.ceil(worldQueue.queued.size() / (double) wavesLeft);
+            }
+
+            int headroom = config.maxConcurrentMigrations - worldQueue.migrating.size() - worldQueue.tickets.size();
+            int admissions = Math.min(config.maxPlansPerTick, Math.min(worldQueue.waveRemaining, headroom));
+
+            while (admissions > 0 && !worldQueue.queue.isEmpty()) {
+                Entry entry = worldQueue.queue.poll();
+                worldQueue.queued.remove(entry.leaderId);
+                if (now - entry.lastSeen > config.queueTimeout) {
+                    continue; // No longer asking - unloaded, dead or lost the urge
+                }
+
+                // Tickets left unused expire on the wheel
+                UUID leaderId = entry.leaderId;
+                worldQueue.tickets.put(leaderId, wheel(world).schedule(now + config.ticketTimeout + 1,
+                        () -> worldQueue.tickets.remove(leaderId)));
+                worldQueue.waveRemaining--;
+                admissions--;
+            }
+        }
+    }
+
+    private static TimingWheel wheel(ServerWorld world) {
+        return Trophic.getInstance().getTimingWheelManager().get(world);
+    }
+
+    /**
+     * @return the number of leaders waiting across all worlds
+     */
+    public int getQueueDepth() {
+        return worlds.values().stream()
+                .mapToInt(worldQueue -> worldQueue.queued.size())
+                .sum();
+    }
+
+    /**
+     * @return the number of dispatched migrations in progress across all worlds
+     */
+    public int getMigratingCount() {
+        return worlds.values().stream()
+                .mapToInt(worldQueue -> worldQueue.migrating.size())
+                .sum();
+    }
+}
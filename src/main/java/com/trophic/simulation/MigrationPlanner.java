@@ -1,8 +1,11 @@
 package com.trophic.simulation;
 
 import com.trophic.Trophic;
+import com.trophic.config.TrophicConfig;
+import com.trophic.pathing.ChunkGraph;
 import com.trophic.registry.SpeciesDefinition;
 import com.trophic.registry.SpeciesRegistry;
+import com.trophic.spatial.WorldQuery;
 import net.minecraft.registry.RegistryKey;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
@@ -42,6 +45,15 @@ public class MigrationPlanner {
         POPULATION,     // Too crowded
         HABITAT         // Current habitat becoming unsuitable
     }
+    
+    /**
+     * A migration shared by a whole pack, planned once by its leader.
+     */
+    private record PackMigration(MigrationTarget target, long startTick) {}
+    
+    // Active migrations keyed by pack leader
+    private static final Map<UUID, PackMigration> packMigrations = new HashMap<>();
+    private static int version;
 
     /**
      * Calculates a migration target for a species from a given location.
@@ -106,6 +118,11 @@ public class MigrationPlanner {
 
     /**
      * Finds a suitable destination for migration.
+     * 
+     * Only loaded chunks are inspected. Loaded candidates the chunk graph
+     * cannot reach are skipped. If no loaded candidate is suitable, the first
+     * unloaded candidate is used at the current height; the waypoints along
+     * the way are resolved once their chunks are loaded.
      */
     private static BlockPos findSuitableDestination(
             ServerWorld world,
@@ -119,6 +136,9 @@ public class MigrationPlanner {
         // For seasonal migration, move toward warmer/colder regions
         Vec3d migrationDirection = calculateMigrationDirection(reason);
         
+        BlockPos unknownTarget = null;
+        ChunkGraph graph = Trophic.getInstance().getChunkGraphManager().get(world);
+        
         // Search in the general migration direction
         for (int attempt = 0; attempt < 10; attempt++) {
             // Add some randomness to the direction
@@ -131,17 +151,19 @@ public class MigrationPlanner {
             int targetZ = currentPos.getZ() + (int)(Math.sin(angle) * distance);
             
             // Find ground level
-            BlockPos target = findGroundLevel(world, new BlockPos(targetX, currentPos.getY(), targetZ));
+            BlockPos target = findGroundLevel(world, targetX, targetZ);
             
             if (target != null) {
                 double suitability = calculateHabitatSuitability(world, species, target);
-                if (suitability > 0.5) {
+                if (suitability > 0.5 && graph.isReachable(currentPos, target)) {
                     return target;
                 }
+            } else if (unknownTarget == null) {
+                unknownTarget = new BlockPos(targetX, currentPos.getY(), targetZ);
             }
         }
         
-        return null;
+        return unknownTarget;
     }
 
     /**
@@ -171,6 +193,8 @@ public class MigrationPlanner {
 
     /**
      * Calculates habitat suitability score for a species at a location.
+     * 
+     * @return the score, or 0.5 (neutral) if the location is not loaded
      */
     public static double calculateHabitatSuitability(
             ServerWorld world,
@@ -182,7 +206,10 @@ public class MigrationPlanner {
         }
         
         // Get biome at position
-        var biomeEntry = world.getBiome(pos);
+        var biomeEntry = WorldQuery.getBiome(world, pos);
+        if (biomeEntry == null) {
+            return 0.5;
+        }
         Identifier biomeId = biomeEntry.getKey()
                 .map(RegistryKey::getValue)
                 .orElse(Identifier.of("minecraft:plains"));
@@ -215,29 +242,66 @@ public class MigrationPlanner {
     }
 
     /**
-     * Finds ground level at a position.
+     * Finds ground level at a column from the heightmap.
+     * 
+     * @return the position above the surface, or null if the column is not loaded
      */
-    private static BlockPos findGroundLevel(ServerWorld world, BlockPos pos) {
-        // Use world height limit
-        int y = world.getTopYInclusive();
-        
-        // Search down for solid ground
-        for (int dy = 0; dy < 128; dy++) {
-            BlockPos checkPos = new BlockPos(pos.getX(), y - dy, pos.getZ());
-            if (!world.getBlockState(checkPos).isAir() &&
-                world.getBlockState(checkPos.up()).isAir()) {
-                return checkPos.up();
-            }
+    private static BlockPos findGroundLevel(ServerWorld world, int x, int z) {
+        int y = WorldQuery.getSurfaceY(world, x, z);
+        if (y == WorldQuery.UNKNOWN_Y) {
+            return null;
         }
+        return new BlockPos(x, y, z);
+    }
+
+    /**
+     * Records that a pack has started migrating. Followers join the
+     * migration through {@link #getPackMigration(UUID)} instead of planning
+     * their own.
+     */
+    public static void startPackMigration(UUID leaderId, MigrationTarget target, long currentTick) {
+        // Drop records of leaders that vanished without finishing
+        int maxAge = TrophicConfig.get().migration.maxMigrationTime;
+        packMigrations.values().removeIf(migration -> currentTick - migration.startTick() > maxAge);
         
-        return null;
+        packMigrations.put(leaderId, new PackMigration(target, currentTick));
+        version++;
+    }
+    
+    /**
+     * Gets the migration a pack is currently following.
+     * 
+     * @return the pack's target, or null if the pack is not migrating
+     */
+    public static MigrationTarget getPackMigration(UUID leaderId) {
+        PackMigration migration = packMigrations.get(leaderId);
+        return migration != null ? migration.target() : null;
+    }
+    
+    /**
+     * Ends a pack's migration, whether it arrived or gave up.
+     */
+    public static void endPackMigration(UUID leaderId) {
+        if (packMigrations.remove(leaderId) != null) {
+            version++;
+        }
+    }
+    
+    /**
+     * @return a counter bumped whenever a pack migration starts or ends
+     */
+    public static int getVersion() {
+        return version;
     }
 
     /**
-     * Gets all active migrations for a world.
+     * Gets all active pack migrations, keyed by pack leader.
      */
     public static Map<UUID, MigrationTarget> getActiveMigrations() {
-        // In a full implementation, this would track active migrations
-        return new HashMap<>();
+        Map<UUID, MigrationTarget> migrations = new HashMap<>();
+        for (Map.Entry<UUID, PackMigration> entry : packMigrations.entrySet()) {
+            migrations.put(entry.getKey(), entry.getValue().target());
+        }
+        return migrations;
     }
 }
@@ -67,6 +67,15 @@ public class SeasonManager {
         return (yearProgress % 0.25) / 0.25;
     }
 
+    /**
+     * Gets the ticks until the year next reaches a point (0.0 to 1.0).
+     * Returns 0 if it is there now.
+     */
+    public long getTicksUntilYearProgress(double progress) {
+        long target = (long) (progress * YEAR_LENGTH_TICKS);
+        return Math.floorMod(target - worldTime % YEAR_LENGTH_TICKS, YEAR_LENGTH_TICKS);
+    }
+
     /**
      * Checks if it's currently breeding season for a species with given parameters.
      */
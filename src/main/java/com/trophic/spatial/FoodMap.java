@@ -0,0 +1,276 @@
+package com.trophic.spatial;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Arrays;
+
+/**
+ * Per-world index of edible blocks, kept per loaded chunk.
+ *
+ * A chunk is registered when it loads but only scanned the first time a
+ * forager looks inside it. After that, block-change events keep it up to
+ * date, so food searches become nearest-neighbour lookups over a handful of
+ * small int arrays instead of block-by-block cube scans.
+ */
+public class FoodMap {
+
+    /**
+     * Food categories, in order of preference.
+     */
+    public enum FoodType {
+        /** Grass plants - they regrow and don't destroy grass blocks */
+        PREFERRED,
+        /** Grass blocks - eating them converts to dirt */
+        FALLBACK
+    }
+
+    private final Long2ObjectOpenHashMap<ChunkFood> chunks = new Long2ObjectOpenHashMap<>();
+
+    // Reused nearest-k distances (server thread only)
+    private double[] distanceScratch = new double[8];
+
+    /**
+     * Classifies a block state as food.
+     *
+     * @return the food type, or null if the block is not edible
+     */
+    public static FoodType classify(BlockState state) {
+        Block block = state.getBlock();
+        if (block == Blocks.TALL_GRASS || block == Blocks.SHORT_GRASS
+                || block == Blocks.FERN || block == Blocks.LARGE_FERN) {
+            return FoodType.PREFERRED;
+        }
+        if (block == Blocks.GRASS_BLOCK) {
+            return FoodType.FALLBACK;
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the block state is edible
+     */
+    public static boolean isEdible(BlockState state) {
+        return classify(state) != null;
+    }
+
+    /**
+     * Registers a loaded chunk. Its contents are scanned lazily.
+     */
+    public void onChunkLoad(WorldChunk chunk) {
+        chunks.put(chunk.getPos().toLong(), new ChunkFood(chunk));
+    }
+
+    /**
+     * Forgets an unloaded chunk.
+     */
+    public void onChunkUnload(WorldChunk chunk) {
+        chunks.remove(chunk.getPos().toLong());
+    }
+
+    /**
+     * Applies a block change to an already scanned chunk.
+     */
+    public void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newState) {
+        FoodType oldType = classify(oldState);
+        FoodType newType = classify(newState);
+        if (oldType == newType) {
+            return;
+        }
+
+        ChunkFood food = chunks.get(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (food == null || !food.scanned) {
+            return;
+        }
+
+        int packed = pack(pos.getX(), pos.getY(), pos.getZ());
+        if (oldType != null) {
+            food.remove(oldType, packed);
+        }
+        if (newType != null) {
+            food.add(newType, packed);
+        }
+    }
+
+    /**
+     * Finds the nearest food blocks of a type within a cube around the origin,
+     * sorted by squared distance. Unloaded chunks are treated as having no food.
+     *
+     * @param out destination for packed {@link BlockPos} longs; its length bounds k
+     * @return the number of positions written to {@code out}
+     */
+    public int findNearest(BlockPos origin, int range, int verticalRange, FoodType type, long[] out) {
+        int k = out.length;
+        if (k == 0) {
+            return 0;
+        }
+        if (distanceScratch.length < k) {
+            distanceScratch = new double[k];
+        }
+
+        int ox = origin.getX();
+        int oy = origin.getY();
+        int oz = origin.getZ();
+        int found = 0;
+
+        for (int cx = (ox - range) >> 4; cx <= (ox + range) >> 4; cx++) {
+            for (int cz = (oz - range) >> 4; cz <= (oz + range) >> 4; cz++) {
+                ChunkFood food = chunks.get(ChunkPos.toLong(cx, cz));
+                if (food == null) {
+                    continue;
+                }
+                food.ensureScanned();
+
+                int[] entries = food.entries(type);
+                int count = food.count(type);
+                int baseX = cx << 4;
+                int baseZ = cz << 4;
+
+                for (int i = 0; i < count; i++) {
+                    int packed = entries[i];
+                    int x = baseX + unpackX(packed);
+                    int y = unpackY(packed);
+                    int z = baseZ + unpackZ(packed);
+
+                    int dx = x - ox;
+                    int dy = y - oy;
+                    int dz = z - oz;
+                    if (Math.abs(dx) > range || Math.abs(dz) > range || Math.abs(dy) > verticalRange) {
+                        continue;
+                    }
+
+                    double distanceSq = (double) dx * dx + (double) dy * dy + (double) dz * dz;
+                    if (found == k && distanceSq >= distanceScratch[k - 1]) {
+                        continue;
+                    }
+
+                    // Insertion into the sorted prefix
+                    int pos = found < k ? found++ : k - 1;
+                    while (pos > 0 && distanceScratch[pos - 1] > distanceSq) {
+                        distanceScratch[pos] = distanceScratch[pos - 1];
+                        out[pos] = out[pos - 1];
+                        pos--;
+                    }
+                    distanceScratch[pos] = distanceSq;
+                    out[pos] = BlockPos.asLong(x, y, z);
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * @return the number of registered chunks
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    // Local x/z in the low byte, absolute y above it
+    private static int pack(int x, int y, int z) {
+        return (y << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    private static int unpackX(int packed) {
+        return packed & 15;
+    }
+
+    private static int unpackZ(int packed) {
+        return (packed >> 4) & 15;
+    }
+
+    private static int unpackY(int packed) {
+        return packed >> 8;
+    }
+
+    /**
+     * Edible block positions within one chunk, split by food type.
+     */
+    private static final class ChunkFood {
+        private WorldChunk chunk;
+        private boolean scanned;
+        private int[] preferred = new int[0];
+        private int preferredCount;
+        private int[] fallback = new int[0];
+        private int fallbackCount;
+
+        ChunkFood(WorldChunk chunk) {
+            this.chunk = chunk;
+        }
+
+        int[] entries(FoodType type) {
+            return type == FoodType.PREFERRED ? preferred : fallback;
+        }
+
+        int count(FoodType type) {
+            return type == FoodType.PREFERRED ? preferredCount : fallbackCount;
+        }
+
+        void ensureScanned() {
+            if (scanned) {
+                return;
+            }
+            scanned = true;
+
+            ChunkSection[] sections = chunk.getSectionArray();
+            for (int index = 0; index < sections.length; index++) {
+                ChunkSection section = sections[index];
+                if (section.isEmpty() || !section.hasAny(FoodMap::isEdible)) {
+                    continue;
+                }
+
+                int baseY = chunk.sectionIndexToCoord(index) << 4;
+                for (int y = 0; y < 16; y++) {
+                    for (int z = 0; z < 16; z++) {
+                        for (int x = 0; x < 16; x++) {
+                            FoodType type = classify(section.getBlockState(x, y, z));
+                            if (type != null) {
+                                add(type, pack(x, baseY + y, z));
+                            }
+                        }
+                    }
+                }
+            }
+
+            // The chunk reference is only needed for the initial scan
+            chunk = null;
+        }
+
+        void add(FoodType type, int packed) {
+            if (type == FoodType.PREFERRED) {
+                if (preferredCount == preferred.length) {
+                    preferred = Arrays.copyOf(preferred, Math.max(16, preferred.length * 2));
+                }
+                preferred[preferredCount++] = packed;
+            } else {
+                if (fallbackCount == fallback.length) {
+                    fallback = Arrays.copyOf(fallback, Math.max(16, fallback.length * 2));
+                }
+                fallback[fallbackCount++] = packed;
+            }
+        }
+
+        void remove(FoodType type, int packed) {
+            int[] entries = entries(type);
+            int count = count(type);
+            for (int i = 0; i < count; i++) {
+                if (entries[i] == packed) {
+                    entries[i] = entries[count - 1];
+                    if (type == FoodType.PREFERRED) {
+                        preferredCount--;
+                    } else {
+                        fallbackCount--;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.trophic.spatial;
+
+import com.trophic.Trophic;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Owns one {@link FoodMap} per server world and keeps it in sync with chunk
+ * load/unload events. Block changes are fed in from {@code MixinServerWorld}.
+ */
+public class FoodMapManager {
+    private final Map<ServerWorld, FoodMap> maps = new HashMap<>();
+
+    /**
+     * Registers event handlers that maintain the food maps.
+     */
+    public void register() {
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> get(world).onChunkLoad(chunk));
+
+        ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+            FoodMap map = maps.get(world);
+            if (map != null) {
+                map.onChunkUnload(chunk);
+            }
+        });
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> maps.remove(world));
+
+        Trophic.LOGGER.info("FoodMapManager registered");
+    }
+
+    /**
+     * Gets the food map for a world, creating it if needed.
+     */
+    public FoodMap get(ServerWorld world) {
+        return maps.computeIfAbsent(world, k -> new FoodMap());
+    }
+
+    /**
+     * Gets the food map for an entity's world.
+     *
+     * @return the food map, or null if the entity is not in a server world
+     */
+    public static FoodMap of(Entity entity) {
+        if (entity.getEntityWorld() instanceof ServerWorld serverWorld) {
+            return Trophic.getInstance().getFoodMapManager().get(serverWorld);
+        }
+        return null;
+    }
+
+    /**
+     * Called whenever a block state changes in a server world.
+     */
+    public void onBlockChanged(ServerWorld world, BlockPos pos, BlockState oldState, BlockState newState) {
+        FoodMap map = maps.get(world);
+        if (map != null) {
+            map.onBlockChanged(pos, oldState, newState);
+        }
+    }
+
+    /**
+     * @return the total number of indexed chunks across all worlds
+     */
+    public int getChunkCount() {
+        return maps.values().stream()
+                .mapToInt(FoodMap::getChunkCount)
+                .sum();
+    }
+}
@@ -0,0 +1,549 @@
+package com.trophic.spatial;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.LongPredicate;
+
+/**
+ * Per-world spatial index of entities belonging to registered species.
+ *
+ * The index is rebuilt once per world tick. Entities are bucketed by chunk
+ * section into flat primitive arrays (positions and species indices), so AI
+ * scans can run radius, nearest-k and count queries without allocating and
+ * without touching the world's entity lists.
+ *
+ * Positions are a snapshot taken at the start of the tick. Callers that need
+ * exact distances should re-measure against the returned entity.
+ */
+public class SpatialIndex {
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Tracked entities, swap-removed on unload
+    private MobEntity[] tracked = new MobEntity[INITIAL_CAPACITY];
+    private int[] trackedTypes = new int[INITIAL_CAPACITY];
+    private int trackedCount;
+    private final Reference2IntOpenHashMap<MobEntity> trackedSlots = new Reference2IntOpenHashMap<>();
+
+    // Snapshot of the tracked entities, sorted by cell
+    private MobEntity[] entities = new MobEntity[INITIAL_CAPACITY];
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private double[] zs = new double[INITIAL_CAPACITY];
+    private int[] types = new int[INITIAL_CAPACITY];
+    private int[] entryCells = new int[INITIAL_CAPACITY];
+    private int size;
+
+    // Occupied chunk sections: entries of cell c are [cellStart[c], cellStart[c + 1])
+    private final Long2IntOpenHashMap cellLookup = new Long2IntOpenHashMap();
+    private int[] cellX = new int[64];
+    private int[] cellY = new int[64];
+    private int[] cellZ = new int[64];
+    private int[] cellStart = new int[65];
+    private int[] cellFill = new int[64];
+    private int cellCount;
+
+    // Reusable query state
+    private final CountSink countSink = new CountSink();
+    private final BestSink bestSink = new BestSink();
+    private final NearestSink nearestSink = new NearestSink();
+    private final VisitSink visitSink = new VisitSink();
+    private boolean scanning;
+
+    public SpatialIndex() {
+        cellLookup.defaultReturnValue(-1);
+        trackedSlots.defaultReturnValue(-1);
+    }
+
+    /**
+     * Scores a candidate entity. Lower is better; return
+     * {@link Double#POSITIVE_INFINITY} to reject the candidate.
+     */
+    @FunctionalInterface
+    public interface Scorer<T> {
+        double score(T context, MobEntity candidate, double distanceSq);
+    }
+
+    /**
+     * Expensive acceptance check, only run for candidates that would
+     * improve on the current best (e.g. line of sight).
+     */
+    @FunctionalInterface
+    public interface Filter<T> {
+        boolean test(T context, MobEntity candidate);
+    }
+
+    /**
+     * Visits an entity in range. Return false to stop the scan.
+     */
+    @FunctionalInterface
+    public interface Visitor<T> {
+        boolean visit(T context, MobEntity entity, double distanceSq);
+    }
+
+    // ========== Tracking ==========
+
+    /**
+     * Starts tracking an entity. It becomes visible to queries on the next rebuild.
+     */
+    public void track(MobEntity entity, int speciesIndex) {
+        if (trackedSlots.containsKey(entity)) {
+            return;
+        }
+        if (trackedCount == tracked.length) {
+            int capacity = tracked.length * 2;
+            tracked = Arrays.copyOf(tracked, capacity);
+            trackedTypes = Arrays.copyOf(trackedTypes, capacity);
+        }
+        tracked[trackedCount] = entity;
+        trackedTypes[trackedCount] = speciesIndex;
+        trackedSlots.put(entity, trackedCount);
+        trackedCount++;
+    }
+
+    /**
+     * Stops tracking an entity.
+     */
+    public void untrack(MobEntity entity) {
+        int slot = trackedSlots.removeInt(entity);
+        if (slot < 0) {
+            return;
+        }
+        int last = --trackedCount;
+        if (slot != last) {
+            tracked[slot] = tracked[last];
+            trackedTypes[slot] = trackedTypes[last];
+            trackedSlots.put(tracked[slot], slot);
+        }
+        tracked[last] = null;
+    }
+
+    /**
+     * @return the number of tracked entities
+     */
+    public int getTrackedCount() {
+        return trackedCount;
+    }
+
+    /**
+     * @return the number of occupied chunk sections in the current snapshot
+     */
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    // ========== Rebuild ==========
+
+    /**
+     * Rebuilds the snapshot from the tracked entities' current positions.
+     * Called once per world tick; allocation-free once capacities have settled.
+     */
+    public void rebuild() {
+        int count = trackedCount;
+        ensureEntryCapacity(count);
+
+        cellLookup.clear();
+        cellCount = 0;
+
+        // Pass 1: assign each entity to a cell and count cell sizes
+        for (int i = 0; i < count; i++) {
+            MobEntity entity = tracked[i];
+            int sx = entity.getBlockX() >> 4;
+            int sy = entity.getBlockY() >> 4;
+            int sz = entity.getBlockZ() >> 4;
+            long key = ChunkSectionPos.asLong(sx, sy, sz);
+
+            int cell = cellLookup.get(key);
+            if (cell < 0) {
+                cell = cellCount++;
+                ensureCellCapacity(cellCount);
+                cellX[cell] = sx;
+                cellY[cell] = sy;
+                cellZ[cell] = sz;
+                cellFill[cell] = 0;
+                cellLookup.put(key, cell);
+            }
+            cellFill[cell]++;
+            entryCells[i] = cell;
+        }
+
+        // Prefix sums give each cell a contiguous run
+        int offset = 0;
+        for (int c = 0; c < cellCount; c++) {
+            cellStart[c] = offset;
+            offset += cellFill[c];
+            cellFill[c] = cellStart[c];
+        }
+        cellStart[cellCount] = offset;
+
+        // Pass 2: scatter entries into their cell runs
+        for (int i = 0; i < count; i++) {
+            int slot = cellFill[entryCells[i]]++;
+            MobEntity entity = tracked[i];
+            entities[slot] = entity;
+            xs[slot] = entity.getX();
+            ys[slot] = entity.getY();
+            zs[slot] = entity.getZ();
+            types[slot] = trackedTypes[i];
+        }
+
+        // Drop references left over from a larger previous snapshot
+        for (int i = count; i < size; i++) {
+            entities[i] = null;
+        }
+        size = count;
+    }
+
+    private void ensureEntryCapacity(int count) {
+        if (count <= entities.length) {
+            return;
+        }
+        int capacity = Math.max(count, entities.length * 2);
+        entities = Arrays.copyOf(entities, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+        types = Arrays.copyOf(types, capacity);
+        entryCells = Arrays.copyOf(entryCells, capacity);
+    }
+
+    private void ensureCellCapacity(int count) {
+        if (count < cellX.length) {
+            return;
+        }
+        int capacity = cellX.length * 2;
+        cellX = Arrays.copyOf(cellX, capacity);
+        cellY = Arrays.copyOf(cellY, capacity);
+        cellZ = Arrays.copyOf(cellZ, capacity);
+        cellFill = Arrays.copyOf(cellFill, capacity);
+        cellStart = Arrays.copyOf(cellStart, capacity + 1);
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * Counts live entities of any species in the mask within a radius.
+     */
+    public int count(double x, double y, double z, double radius, BitSet speciesMask) {
+        return count(x, y, z, radius, speciesMask, -1);
+    }
+
+    /**
+     * Counts live entities of a single species within a radius.
+     */
+    public int count(double x, double y, double z, double radius, int speciesIndex) {
+        return count(x, y, z, radius, null, speciesIndex);
+    }
+
+    private int count(double x, double y, double z, double radius, BitSet mask, int species) {
+        CountSink sink = scanning ? new CountSink() : countSink;
+        sink.count = 0;
+        scan(x, y, z, radius, mask, species, null, sink);
+        return sink.count;
+    }
+
+    /**
+     * Finds the lowest-scoring entity of any species in the mask within a radius.
+     * The filter is only consulted for candidates that would become the new best.
+     *
+     * @return the best entity, or null if none was accepted
+     */
+    public <T> MobEntity findBest(double x, double y, double z, double radius, BitSet speciesMask,
+                                  T context, Scorer<T> scorer, Filter<T> filter) {
+        return findBest(x, y, z, radius, speciesMask, -1, context, scorer, filter);
+    }
+
+    /**
+     * Finds the lowest-scoring entity of a single species within a radius.
+     */
+    public <T> MobEntity findBest(double x, double y, double z, double radius, int speciesIndex,
+                                  T context, Scorer<T> scorer, Filter<T> filter) {
+        return findBest(x, y, z, radius, null, speciesIndex, context, scorer, filter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> MobEntity findBest(double x, double y, double z, double radius, BitSet mask, int species,
+                                   T context, Scorer<T> scorer, Filter<T> filter) {
+        BestSink sink = scanning ? new BestSink() : bestSink;
+        sink.context = context;
+        sink.scorer = (Scorer<Object>) scorer;
+        sink.filter = (Filter<Object>) filter;
+        sink.best = null;
+        sink.bestScore = Double.POSITIVE_INFINITY;
+        scan(x, y, z, radius, mask, species, null, sink);
+
+        MobEntity best = sink.best;
+        sink.context = null;
+        sink.scorer = null;
+        sink.filter = null;
+        sink.best = null;
+        return best;
+    }
+
+    /**
+     * Collects the nearest live entities of a single species, sorted by distance.
+     *
+     * @param exclude an entity to skip (usually the querying entity), or null
+     * @param out destination array; its length bounds k
+     * @return the number of entities written to {@code out}
+     */
+    public int findNearest(double x, double y, double z, double radius, int speciesIndex,
+                           Entity exclude, MobEntity[] out) {
+        return findNearest(x, y, z, radius, null, speciesIndex, exclude, out);
+    }
+
+    /**
+     * Collects the nearest live entities of any species in the mask, sorted by distance.
+     */
+    public int findNearest(double x, double y, double z, double radius, BitSet speciesMask,
+                           Entity exclude, MobEntity[] out) {
+        return findNearest(x, y, z, radius, speciesMask, -1, exclude, out);
+    }
+
+    private int findNearest(double x, double y, double z, double radius, BitSet mask, int species,
+                            Entity exclude, MobEntity[] out) {
+        if (out.length == 0) {
+            return 0;
+        }
+        NearestSink sink = scanning ? new NearestSink() : nearestSink;
+        sink.reset(out);
+        scan(x, y, z, radius, mask, species, exclude, sink);
+        int found = sink.found;
+        sink.out = null;
+        return found;
+    }
+
+    /**
+     * Visits every live entity of a single species within a radius.
+     */
+    public <T> void forEach(double x, double y, double z, double radius, int speciesIndex,
+                            T context, Visitor<T> visitor) {
+        forEach(x, y, z, radius, null, speciesIndex, context, visitor);
+    }
+
+    /**
+     * Visits every live entity of any species in the mask within a radius.
+     */
+    public <T> void forEach(double x, double y, double z, double radius, BitSet speciesMask,
+                            T context, Visitor<T> visitor) {
+        forEach(x, y, z, radius, speciesMask, -1, context, visitor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void forEach(double x, double y, double z, double radius, BitSet mask, int species,
+                             T context, Visitor<T> visitor) {
+        VisitSink sink = scanning ? new VisitSink() : visitSink;
+        sink.context = context;
+        sink.visitor = (Visitor<Object>) visitor;
+        scan(x, y, z, radius, mask, species, null, sink);
+        sink.context = null;
+        sink.visitor = null;
+    }
+
+    /**
+     * Visits every live entity in the chunk columns accepted by the filter.
+     * The filter is applied per occupied cell, so skipping most of the world
+     * costs one test per cell rather than per entity.
+     */
+    public <T> void forEachInChunks(LongPredicate chunkFilter, T context, Visitor<T> visitor) {
+        for (int c = 0; c < cellCount; c++) {
+            if (!chunkFilter.test(ChunkPos.toLong(cellX[c], cellZ[c]))) {
+                continue;
+            }
+
+            int end = cellStart[c + 1];
+            for (int i = cellStart[c]; i < end; i++) {
+                MobEntity entity = entities[i];
+                if (entity.isAlive() && !visitor.visit(context, entity, 0.0)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits every live entity of any species in the mask, wherever it is.
+     */
+    public <T> void forEachOfSpecies(BitSet speciesMask, T context, Visitor<T> visitor) {
+        if (speciesMask.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (!speciesMask.get(types[i])) {
+                continue;
+            }
+            MobEntity entity = entities[i];
+            if (entity.isAlive() && !visitor.visit(context, entity, 0.0)) {
+                return;
+            }
+        }
+    }
+
+    // ========== Scan core ==========
+
+    private interface Sink {
+        /** @return false to stop the scan */
+        boolean accept(int slot, double distanceSq);
+    }
+
+    /**
+     * Walks the cells overlapping the query sphere and feeds matching entries
+     * to the sink. Iterates the occupied-cell list instead of probing the
+     * section grid when that is cheaper.
+     */
+    private void scan(double x, double y, double z, double radius, BitSet mask, int species,
+                      Entity exclude, Sink sink) {
+        if (size == 0 || (mask != null && mask.isEmpty())) {
+            return;
+        }
+
+        int minSX = ((int) Math.floor(x - radius)) >> 4;
+        int maxSX = ((int) Math.floor(x + radius)) >> 4;
+        int minSY = ((int) Math.floor(y - radius)) >> 4;
+        int maxSY = ((int) Math.floor(y + radius)) >> 4;
+        int minSZ = ((int) Math.floor(z - radius)) >> 4;
+        int maxSZ = ((int) Math.floor(z + radius)) >> 4;
+        double radiusSq = radius * radius;
+
+        boolean outer = scanning;
+        scanning = true;
+        try {
+            long probes = (long) (maxSX - minSX + 1) * (maxSY - minSY + 1) * (maxSZ - minSZ + 1);
+            if (probes > cellCount) {
+                for (int c = 0; c < cellCount; c++) {
+                    if (cellX[c] < minSX || cellX[c] > maxSX
+                            || cellY[c] < minSY || cellY[c] > maxSY
+                            || cellZ[c] < minSZ || cellZ[c] > maxSZ) {
+                        continue;
+                    }
+                    if (!scanCell(c, x, y, z, radiusSq, mask, species, exclude, sink)) {
+                        return;
+                    }
+                }
+            } else {
+                for (int sx = minSX; sx <= maxSX; sx++) {
+                    for (int sz = minSZ; sz <= maxSZ; sz++) {
+                        for (int sy = minSY; sy <= maxSY; sy++) {
+                            int c = cellLookup.get(ChunkSectionPos.asLong(sx, sy, sz));
+                            if (c < 0) {
+                                continue;
+                            }
+                            if (!scanCell(c, x, y, z, radiusSq, mask, species, exclude, sink)) {
+                                return;
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            scanning = outer;
+        }
+    }
+
+    private boolean scanCell(int cell, double x, double y, double z, double radiusSq,
+                             BitSet mask, int species, Entity exclude, Sink sink) {
+        int end = cellStart[cell + 1];
+        for (int i = cellStart[cell]; i < end; i++) {
+            int type = types[i];
+            if (mask != null ? !mask.get(type) : (species >= 0 && type != species)) {
+                continue;
+            }
+
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double dz = zs[i] - z;
+            double distanceSq = dx * dx + dy * dy + dz * dz;
+            if (distanceSq > radiusSq) {
+                continue;
+            }
+
+            MobEntity entity = entities[i];
+            if (entity == exclude || !entity.isAlive()) {
+                continue;
+            }
+
+            if (!sink.accept(i, distanceSq)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class CountSink implements Sink {
+        int count;
+
+        @Override
+        public boolean accept(int slot, double distanceSq) {
+            count++;
+            return true;
+        }
+    }
+
+    private final class BestSink implements Sink {
+        Object context;
+        Scorer<Object> scorer;
+        Filter<Object> filter;
+        MobEntity best;
+        double bestScore;
+
+        @Override
+        public boolean accept(int slot, double distanceSq) {
+            MobEntity candidate = entities[slot];
+            double score = scorer.score(context, candidate, distanceSq);
+            if (score < bestScore && (filter == null || filter.test(context, candidate))) {
+                bestScore = score;
+                best = candidate;
+            }
+            return true;
+        }
+    }
+
+    private final class NearestSink implements Sink {
+        MobEntity[] out;
+        double[] distances = new double[16];
+        int found;
+
+        void reset(MobEntity[] out) {
+            this.out = out;
+            if (distances.length < out.length) {
+                distances = new double[out.length];
+            }
+            found = 0;
+        }
+
+        @Override
+        public boolean accept(int slot, double distanceSq) {
+            int k = out.length;
+            if (found == k && distanceSq >= distances[k - 1]) {
+                return true;
+            }
+
+            // Insertion into the sorted prefix
+            int pos = found < k ? found++ : k - 1;
+            while (pos > 0 && distances[pos - 1] > distanceSq) {
+                distances[pos] = distances[pos - 1];
+                out[pos] = out[pos - 1];
+                pos--;
+            }
+            distances[pos] = distanceSq;
+            out[pos] = entities[slot];
+            return true;
+        }
+    }
+
+    private final class VisitSink implements Sink {
+        Object context;
+        Visitor<Object> visitor;
+
+        @Override
+        public boolean accept(int slot, double distanceSq) {
+            return visitor.visit(context, entities[slot], distanceSq);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.trophic.spatial;
+
+import com.trophic.Trophic;
+import com.trophic.registry.ResolvedSpecies;
+import com.trophic.registry.SpeciesRegistry;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Owns one {@link SpatialIndex} per server world and keeps it in sync with
+ * entity load/unload events. Mobs of registered species and of types named
+ * as prey in a diet are tracked. Each index is rebuilt at the start of its
+ * world's tick, before any AI goals run.
+ */
+public class SpatialIndexManager {
+    private final Map<ServerWorld, SpatialIndex> indexes = new HashMap<>();
+    private final SpeciesRegistry speciesRegistry;
+
+    public SpatialIndexManager(SpeciesRegistry speciesRegistry) {
+        this.speciesRegistry = speciesRegistry;
+    }
+
+    /**
+     * Registers event handlers that maintain the indexes.
+     */
+    public void register() {
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            if (entity instanceof MobEntity mob) {
+                // Registered species and prey-only types such as fish
+                ResolvedSpecies species = speciesRegistry.resolve(mob);
+                int speciesIndex = species != null ? species.getIndex() : speciesRegistry.getSpeciesIndex(mob.getType());
+                if (speciesIndex >= 0) {
+                    get(world).track(mob, speciesIndex);
+                }
+            }
+        });
+
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            if (entity instanceof MobEntity mob) {
+                SpatialIndex index = indexes.get(world);
+                if (index != null) {
+                    index.untrack(mob);
+                }
+            }
+        });
+
+        ServerTickEvents.START_WORLD_TICK.register(world -> get(world).rebuild());
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> indexes.remove(world));
+
+        Trophic.LOGGER.info("SpatialIndexManager registered");
+    }
+
+    /**
+     * Gets the index for a world, creating it if needed.
+     */
+    public SpatialIndex get(ServerWorld world) {
+        return indexes.computeIfAbsent(world, k -> new SpatialIndex());
+    }
+
+    /**
+     * Gets the index for an entity's world.
+     *
+     * @return the index, or null if the entity is not in a server world
+     */
+    public static SpatialIndex of(Entity entity) {
+        if (entity.getEntityWorld() instanceof ServerWorld serverWorld) {
+            return Trophic.getInstance().getSpatialIndexManager().get(serverWorld);
+        }
+        return null;
+    }
+
+    /**
+     * @return the total number of tracked entities across all worlds
+     */
+    public int getTrackedCount() {
+        return indexes.values().stream()
+                .mapToInt(SpatialIndex::getTrackedCount)
+                .sum();
+    }
+}
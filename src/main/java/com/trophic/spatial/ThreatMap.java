@@ -0,0 +1,180 @@
+package com.trophic.spatial;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.util.math.ChunkPos;
+
+import java.util.ArrayList;
+
+/**
+ * Per-world influence map of predator threat, kept per chunk column.
+ *
+ * Once per world tick every predator stamps the cells within the threat
+ * radius with a value that falls from 1 at its own position to 0 at the
+ * radius, measured to the nearest point of each cell. Each cell keeps the
+ * strongest value, the position of the predator that left it and a folded
+ * mask of the predator species that stamped it. Values decay geometrically
+ * between stamps, so a predator that has just left still raises the alarm
+ * for a few ticks.
+ *
+ * Prey read their own cell in O(1) and only run the precise predator scan
+ * when the local threat is above a threshold.
+ *
+ * Server thread only.
+ */
+public class ThreatMap {
+    private static final int CELL_SHIFT = 4;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    // Cells weaker than this are dropped
+    private static final double MIN_THREAT = 0.01;
+
+    /**
+     * Threat left in one chunk column.
+     */
+    private static final class Cell {
+        double threat;
+        long tick;
+        long speciesBits;
+        double sourceX;
+        double sourceY;
+        double sourceZ;
+    }
+
+    private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+    private final ArrayList<Cell> pool = new ArrayList<>();
+    // World tick and decay factor of the current stamping pass
+    private long now;
+    private double decayPerTick;
+    private long stampCount;
+
+    /**
+     * Starts a tick: sets the clock for stamps and reads, and drops cells
+     * that have decayed away. Called once per tick before stamping.
+     */
+    public void beginTick(long now, double decayPerTick) {
+        this.now = now;
+        this.decayPerTick = decayPerTick;
+
+        ObjectIterator<Long2ObjectMap.Entry<Cell>> iterator = cells.long2ObjectEntrySet().fastIterator();
+        while (iterator.hasNext()) {
+            Cell cell = iterator.next().getValue();
+            if (threatOf(cell) < MIN_THREAT) {
+                iterator.remove();
+                pool.add(cell);
+            }
+        }
+    }
+
+    /**
+     * Stamps one predator into the cells within a radius of it.
+     *
+     * @param speciesBit the predator's folded species bit
+     */
+    public void stamp(double x, double y, double z, double radius, long speciesBit) {
+        int minCX = ((int) Math.floor(x - radius)) >> CELL_SHIFT;
+        int maxCX = ((int) Math.floor(x + radius)) >> CELL_SHIFT;
+        int minCZ = ((int) Math.floor(z - radius)) >> CELL_SHIFT;
+        int maxCZ = ((int) Math.floor(z + radius)) >> CELL_SHIFT;
+
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            // Distance to the nearest point of the cell, zero inside it
+            double minX = cx << CELL_SHIFT;
+            double dx = Math.max(0.0, Math.max(minX - x, x - (minX + CELL_SIZE)));
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                double minZ = cz << CELL_SHIFT;
+                double dz = Math.max(0.0, Math.max(minZ - z, z - (minZ + CELL_SIZE)));
+                double value = 1.0 - Math.sqrt(dx * dx + dz * dz) / radius;
+                if (value <= 0.0) {
+                    continue;
+                }
+                stampCell(ChunkPos.toLong(cx, cz), value, x, y, z, speciesBit);
+            }
+        }
+        stampCount++;
+    }
+
+    private void stampCell(long key, double value, double x, double y, double z, long speciesBit) {
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = pool.isEmpty() ? new Cell() : pool.remove(pool.size() - 1);
+            cell.threat = 0.0;
+            cell.speciesBits = 0L;
+            cell.tick = now;
+            cells.put(key, cell);
+        }
+
+        double current = threatOf(cell);
+        if (cell.tick != now && current < value) {
+            // First stamp this tick outweighs what is left: start a fresh mask
+            cell.speciesBits = 0L;
+        }
+        cell.speciesBits |= speciesBit;
+        cell.tick = now;
+        if (value >= current) {
+            cell.threat = value;
+            cell.sourceX = x;
+            cell.sourceY = y;
+            cell.sourceZ = z;
+        } else {
+            cell.threat = current;
+        }
+    }
+
+    private double threatOf(Cell cell) {
+        long age = now - cell.tick;
+        return age <= 0 ? cell.threat : cell.threat * Math.pow(decayPerTick, age);
+    }
+
+    private Cell cellAt(double x, double z, long speciesBits) {
+        int cx = ((int) Math.floor(x)) >> CELL_SHIFT;
+        int cz = ((int) Math.floor(z)) >> CELL_SHIFT;
+        Cell cell = cells.get(ChunkPos.toLong(cx, cz));
+        return cell != null && (cell.speciesBits & speciesBits) != 0 ? cell : null;
+    }
+
+    /**
+     * Gets the decayed threat at a position from the given predator species.
+     *
+     * @param speciesBits folded mask of the predators to consider
+     * @return the threat, from 0 (none) to 1 (a predator in this cell)
+     */
+    public double getThreat(double x, double z, long speciesBits) {
+        Cell cell = cellAt(x, z, speciesBits);
+        return cell != null ? threatOf(cell) : 0.0;
+    }
+
+    /**
+     * Gets the squared distance from a position to the predator that left
+     * the strongest threat in its cell, if every species that stamped the
+     * cell is in the mask.
+     *
+     * @return the squared distance, or NaN if the cell holds no threat from
+     *         these species alone
+     */
+    public double getSourceDistanceSq(double x, double y, double z, long speciesBits) {
+        Cell cell = cellAt(x, z, speciesBits);
+        if (cell == null || (cell.speciesBits & ~speciesBits) != 0) {
+            return Double.NaN;
+        }
+        double dx = cell.sourceX - x;
+        double dy = cell.sourceY - y;
+        double dz = cell.sourceZ - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * @return the number of cells holding threat
+     */
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    /**
+     * @return the number of predator stamps since the world loaded
+     */
+    public long getStampCount() {
+        return stampCount;
+    }
+}
@@ -0,0 +1,96 @@
+package com.trophic.spatial;
+
+import com.trophic.Trophic;
+import com.trophic.config.TrophicConfig;
+import com.trophic.registry.ResolvedSpecies;
+import com.trophic.registry.SpeciesRegistry;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Owns one {@link ThreatMap} per server world. At the start of each world
+ * tick, right after the {@link SpatialIndex} rebuild, every predator in the
+ * index stamps its threat into the map, before any AI goals run.
+ *
+ * Must be registered after {@link SpatialIndexManager} so the stamps use
+ * the current snapshot.
+ */
+public class ThreatMapManager {
+    private final Map<ServerWorld, ThreatMap> maps = new HashMap<>();
+    private final SpeciesRegistry speciesRegistry;
+
+    public ThreatMapManager(SpeciesRegistry speciesRegistry) {
+        this.speciesRegistry = speciesRegistry;
+    }
+
+    /**
+     * Registers the tick and world unload handlers.
+     */
+    public void register() {
+        ServerTickEvents.START_WORLD_TICK.register(this::stampPredators);
+
+        ServerWorldEvents.UNLOAD.register((server, world) -> maps.remove(world));
+
+        Trophic.LOGGER.info("ThreatMapManager registered");
+    }
+
+    private void stampPredators(ServerWorld world) {
+        TrophicConfig.FleeConfig config = TrophicConfig.get().flee;
+        ThreatMap map = get(world);
+        map.beginTick(world.getTime(), config.threatDecay);
+
+        double radius = config.threatRadius;
+        Trophic.getInstance().getSpatialIndexManager().get(world).forEachOfSpecies(
+                speciesRegistry.getHunterMask(), map,
+                (threats, predator, distanceSq) -> {
+                    ResolvedSpecies species = speciesRegistry.resolve(predator);
+                    if (species != null) {
+                        threats.stamp(predator.getX(), predator.getY(), predator.getZ(), radius,
+                                ResolvedSpecies.speciesBit(species.getIndex()));
+                    }
+                    return true;
+                });
+    }
+
+    /**
+     * Gets the threat map for a world, creating it if needed.
+     */
+    public ThreatMap get(ServerWorld world) {
+        return maps.computeIfAbsent(world, k -> new ThreatMap());
+    }
+
+    /**
+     * Gets the threat map for an entity's world.
+     *
+     * @return the threat map, or null if the entity is not in a server world
+     */
+    public static ThreatMap of(Entity entity) {
+        if (entity.getEntityWorld() instanceof ServerWorld serverWorld) {
+            return Trophic.getInstance().getThreatMapManager().get(serverWorld);
+        }
+        return null;
+    }
+
+    /**
+     * @return the total number of cells holding threat across all worlds
+     */
+    public int getCellCount() {
+        return maps.values().stream()
+                .mapToInt(ThreatMap::getCellCount)
+                .sum();
+    }
+
+    /**
+     * @return the total number of predator stamps across all worlds
+     */
+    public long getStampCount() {
+        return maps.values().stream()
+                .mapToLong(ThreatMap::getStampCount)
+                .sum();
+    }
+}
@@ -0,0 +1,134 @@
+package com.trophic.spatial;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.biome.source.BiomeCoords;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Block, biome and height lookups that only read chunks which are already
+ * loaded.
+ *
+ * Plain {@code World} queries load or even generate the chunk when it is
+ * missing, which stalls the server thread. Every Trophic AI and simulation
+ * lookup goes through here instead; an unloaded chunk yields the documented
+ * "unknown" result and is counted as a miss.
+ *
+ * Server thread only.
+ */
+public final class WorldQuery {
+    /** Height returned when the column is not loaded */
+    public static final int UNKNOWN_Y = Integer.MIN_VALUE;
+
+    private static long queries;
+    private static long misses;
+
+    private WorldQuery() {
+    }
+
+    /**
+     * @return the loaded chunk containing the block, or null (counted as a miss)
+     */
+    private static WorldChunk getLoadedChunk(World world, int blockX, int blockZ) {
+        queries++;
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(blockX >> 4, blockZ >> 4);
+        if (chunk == null) {
+            misses++;
+        }
+        return chunk;
+    }
+
+    /**
+     * @return true if the chunk containing the position is loaded
+     */
+    public static boolean isLoaded(World world, BlockPos pos) {
+        return world.getChunkManager().getWorldChunk(pos.getX() >> 4, pos.getZ() >> 4) != null;
+    }
+
+    /**
+     * Gets a block state.
+     *
+     * @return the block state, or null if the chunk is not loaded
+     */
+    public static BlockState getBlockState(World world, BlockPos pos) {
+        WorldChunk chunk = getLoadedChunk(world, pos.getX(), pos.getZ());
+        return chunk != null ? chunk.getBlockState(pos) : null;
+    }
+
+    /**
+     * Gets the biome stored in the chunk at a position. Unlike
+     * {@code World.getBiome}, no neighbouring chunks are consulted.
+     *
+     * @return the biome, or null if the chunk is not loaded
+     */
+    public static RegistryEntry<Biome> getBiome(World world, BlockPos pos) {
+        WorldChunk chunk = getLoadedChunk(world, pos.getX(), pos.getZ());
+        if (chunk == null) {
+            return null;
+        }
+        return chunk.getBiomeForNoiseGen(
+                BiomeCoords.fromBlock(pos.getX()),
+                BiomeCoords.fromBlock(pos.getY()),
+                BiomeCoords.fromBlock(pos.getZ()));
+    }
+
+    /**
+     * Gets the Y of the first free block above the surface of a column,
+     * ignoring leaves.
+     *
+     * @return the surface Y, or {@link #UNKNOWN_Y} if the chunk is not loaded
+     */
+    public static int getSurfaceY(World world, int x, int z) {
+        WorldChunk chunk = getLoadedChunk(world, x, z);
+        if (chunk == null) {
+            return UNKNOWN_Y;
+        }
+        return chunk.sampleHeightmap(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x & 15, z & 15) + 1;
+    }
+
+    /**
+     * Searches a column from top to bottom for a standable position: an air
+     * block above a non-air block.
+     *
+     * @return the standable position, or null if none was found or the chunk
+     *         is not loaded
+     */
+    public static BlockPos findGround(World world, BlockPos pos, int range) {
+        WorldChunk chunk = getLoadedChunk(world, pos.getX(), pos.getZ());
+        if (chunk == null) {
+            return null;
+        }
+
+        // Each block is read once, as the lower block of one step and the
+        // upper block of the next
+        BlockPos.Mutable checkPos = new BlockPos.Mutable(pos.getX(), pos.getY() + range, pos.getZ());
+        boolean air = chunk.getBlockState(checkPos).isAir();
+        for (int dy = range; dy >= -range; dy--) {
+            checkPos.setY(pos.getY() + dy - 1);
+            boolean belowAir = chunk.getBlockState(checkPos).isAir();
+            if (air && !belowAir) {
+                return new BlockPos(pos.getX(), pos.getY() + dy, pos.getZ());
+            }
+            air = belowAir;
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of lookups since startup
+     */
+    public static long getQueryCount() {
+        return queries;
+    }
+
+    /**
+     * @return the number of lookups that hit an unloaded chunk
+     */
+    public static long getMissCount() {
+        return misses;
+    }
+}